@@ -0,0 +1,37 @@
+package com.example.appdev.returnhub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+    // Minimum threads for the @Scheduled jobs: the outbox flush runs every 250 ms and
+    // must not wait behind the typing sweep, retention, reconcile or dashboard resync
+    private static final int MIN_POOL_SIZE = 4;
+
+    @Value("${scheduling.pool-size:4}")
+    private int poolSize;
+
+    // Dedicated scheduler for @Scheduled jobs, kept apart from the WebSocket broker's
+    // heartbeat scheduler so neither can starve the other
+    @Bean
+    public ThreadPoolTaskScheduler appTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(MIN_POOL_SIZE, poolSize));
+        scheduler.setThreadNamePrefix("app-scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(appTaskScheduler());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.appdev.returnhub.config;
+
+import java.security.Principal;
+import java.util.Objects;
+
+// Identity bound to a STOMP session. Users and staff share the numeric id space, so the
+// name carries the account type ("USER:42", "STAFF:7"); convertAndSendToUser targets it.
+public final class StompPrincipal implements Principal {
+    public static final String USER = "USER";
+    public static final String STAFF = "STAFF";
+
+    private final String type;
+    private final int id;
+
+    private StompPrincipal(String type, int id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public static StompPrincipal user(int userId) {
+        return new StompPrincipal(USER, userId);
+    }
+
+    public static StompPrincipal staff(int staffId) {
+        return new StompPrincipal(STAFF, staffId);
+    }
+
+    // Principal name for a user destination, e.g. nameOf("STAFF", 7) -> "STAFF:7"
+    public static String nameOf(String type, int id) {
+        return normalizeType(type) + ":" + id;
+    }
+
+    public static String userName(int userId) {
+        return nameOf(USER, userId);
+    }
+
+    public static String staffName(int staffId) {
+        return nameOf(STAFF, staffId);
+    }
+
+    // Parses the type/id pair a client presents; null when either part is missing or malformed
+    public static StompPrincipal parse(String type, String id) {
+        if (type == null || id == null) {
+            return null;
+        }
+        String normalizedType = normalizeType(type);
+        if (!USER.equals(normalizedType) && !STAFF.equals(normalizedType)) {
+            return null;
+        }
+        try {
+            int parsedId = Integer.parseInt(id.trim());
+            return parsedId > 0 ? new StompPrincipal(normalizedType, parsedId) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public boolean isStaff() {
+        return STAFF.equals(type);
+    }
+
+    @Override
+    public String getName() {
+        return type + ":" + id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StompPrincipal)) return false;
+        StompPrincipal that = (StompPrincipal) o;
+        return id == that.id && type.equals(that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    private static String normalizeType(String type) {
+        return type == null ? "" : type.trim().toUpperCase();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.appdev.returnhub.config;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.security.Principal;
+import java.util.Map;
+
+// Binds the principal at handshake time from ?userType=USER&userId=42 on the /ws URL.
+// Clients that cannot put it in the URL send the same pair as CONNECT headers instead
+// (see StompPrincipalInterceptor).
+@Component
+public class StompPrincipalHandshakeHandler extends DefaultHandshakeHandler {
+    private final StompPrincipalResolver principalResolver;
+
+    public StompPrincipalHandshakeHandler(StompPrincipalResolver principalResolver) {
+        this.principalResolver = principalResolver;
+    }
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        MultiValueMap<String, String> query = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+        StompPrincipal principal = principalResolver.resolve(
+                query.getFirst(StompPrincipalResolver.TYPE_PARAM), query.getFirst(StompPrincipalResolver.ID_PARAM));
+        return principal != null ? principal : super.determineUser(request, wsHandler, attributes);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.appdev.returnhub.config;
+
+import com.example.appdev.returnhub.service.ClusterEventBus;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+// Binds the principal from the CONNECT frame's userType/userId headers. This covers the
+// SockJS HTTP fallbacks, which never go through the handshake handler. A CONNECT that
+// names a different account than the handshake did is refused. Clients may not send
+// to or subscribe to the internal node-to-node topic either.
+@Component
+public class StompPrincipalInterceptor implements ChannelInterceptor {
+    private final StompPrincipalResolver principalResolver;
+
+    public StompPrincipalInterceptor(StompPrincipalResolver principalResolver) {
+        this.principalResolver = principalResolver;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        StompCommand command = accessor.getCommand();
+        if ((command == StompCommand.SEND || command == StompCommand.SUBSCRIBE)
+                && accessor.getDestination() != null
+                && accessor.getDestination().startsWith(ClusterEventBus.TOPIC)) {
+            throw new MessageDeliveryException("Destination is not available to clients");
+        }
+        if (command != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String type = accessor.getFirstNativeHeader(StompPrincipalResolver.TYPE_PARAM);
+        String id = accessor.getFirstNativeHeader(StompPrincipalResolver.ID_PARAM);
+        if (type == null && id == null) {
+            return message;
+        }
+
+        StompPrincipal principal = principalResolver.resolve(type, id);
+        if (principal == null) {
+            throw new MessageDeliveryException("Unknown account: " + type + ":" + id);
+        }
+        Principal existing = accessor.getUser();
+        if (existing instanceof StompPrincipal && !existing.equals(principal)) {
+            throw new MessageDeliveryException("CONNECT identity does not match the handshake");
+        }
+        accessor.setUser(principal);
+        return message;
+    }
+}
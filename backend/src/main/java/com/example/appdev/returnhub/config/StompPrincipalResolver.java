@@ -0,0 +1,32 @@
+package com.example.appdev.returnhub.config;
+
+import com.example.appdev.returnhub.repositor.StaffRepository;
+import com.example.appdev.returnhub.repositor.UserRepository;
+import org.springframework.stereotype.Component;
+
+// Turns the identity a WebSocket client presents (handshake query or CONNECT headers)
+// into a StompPrincipal, but only for accounts that exist
+@Component
+public class StompPrincipalResolver {
+    public static final String TYPE_PARAM = "userType";
+    public static final String ID_PARAM = "userId";
+
+    private final UserRepository userRepository;
+    private final StaffRepository staffRepository;
+
+    public StompPrincipalResolver(UserRepository userRepository, StaffRepository staffRepository) {
+        this.userRepository = userRepository;
+        this.staffRepository = staffRepository;
+    }
+
+    public StompPrincipal resolve(String type, String id) {
+        StompPrincipal principal = StompPrincipal.parse(type, id);
+        if (principal == null) {
+            return null;
+        }
+        boolean exists = principal.isStaff()
+                ? staffRepository.existsById(principal.getId())
+                : userRepository.existsById(principal.getId());
+        return exists ? principal : null;
+    }
+}
@@ -1,27 +1,183 @@
 package com.example.appdev.returnhub.config;
 
+import com.example.appdev.returnhub.service.WebSocketTransportMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    // Shared topics that let every node resolve /user destinations for sessions held by other nodes
+    private static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    private static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayClientLogin;
+    private final String relayClientPasscode;
+    private final String relaySystemLogin;
+    private final String relaySystemPasscode;
+    private final String relayVirtualHost;
+
+    @Value("${websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+    @Value("${websocket.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+    @Value("${websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+    @Value("${websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+    @Value("${websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+    @Value("${websocket.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    private final WebSocketTransportMetrics transportMetrics;
+    private final StompPrincipalHandshakeHandler principalHandshakeHandler;
+    private final StompPrincipalInterceptor principalInterceptor;
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketConfig(WebSocketTransportMetrics transportMetrics,
+                           StompPrincipalHandshakeHandler principalHandshakeHandler,
+                           StompPrincipalInterceptor principalInterceptor,
+                           @Value("${websocket.broker.mode:simple}") String brokerMode,
+                           @Value("${websocket.broker.relay.host:localhost}") String relayHost,
+                           @Value("${websocket.broker.relay.port:61613}") int relayPort,
+                           @Value("${websocket.broker.relay.client-login:guest}") String relayClientLogin,
+                           @Value("${websocket.broker.relay.client-passcode:guest}") String relayClientPasscode,
+                           @Value("${websocket.broker.relay.system-login:guest}") String relaySystemLogin,
+                           @Value("${websocket.broker.relay.system-passcode:guest}") String relaySystemPasscode,
+                           @Value("${websocket.broker.relay.virtual-host:}") String relayVirtualHost) {
+        this.transportMetrics = transportMetrics;
+        this.principalHandshakeHandler = principalHandshakeHandler;
+        this.principalInterceptor = principalInterceptor;
+        this.brokerMode = brokerMode;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayClientLogin = relayClientLogin;
+        this.relayClientPasscode = relayClientPasscode;
+        this.relaySystemLogin = relaySystemLogin;
+        this.relaySystemPasscode = relaySystemPasscode;
+        this.relayVirtualHost = relayVirtualHost;
+    }
+
+    // The broker's own scheduler drives simple-broker heartbeats (lazy: it is created by
+    // the same configuration that calls into this class)
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue", "/user");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // External STOMP broker (ActiveMQ/Artemis, RabbitMQ): subscriptions live in the
+            // broker, so every backend node sees every /topic and /queue message
+            var relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatMs)
+                    .setSystemHeartbeatReceiveInterval(heartbeatMs)
+                    .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                    .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Single node: in-memory broker, with heartbeats so dead clients are noticed
+            config.enableSimpleBroker("/topic", "/queue", "/user")
+                    .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
+        // With a multi-threaded outbound channel, keep each session's messages in the order
+        // the broker published them
+        config.setPreservePublishOrder(true);
     }
+
+    // Inbound: bounded queue; when it is full the client's reader thread handles the
+    // frame itself, which pushes back on that client instead of growing the heap
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        ThreadPoolTaskExecutor executor = boundedExecutor("ws-inbound-", inboundCorePoolSize, inboundMaxPoolSize,
+                inboundQueueCapacity, transportMetrics.countingRejections("inbound", new ThreadPoolExecutor.CallerRunsPolicy()));
+        transportMetrics.registerExecutor("inbound", executor);
+        registration.executor(executor).interceptors(principalInterceptor);
+    }
+
+    // Outbound: bounded queue; when it is full a broadcast message is dropped (and counted)
+    // rather than blocking the broker for every other session. Protocol frames are never
+    // dropped: they run on the caller instead.
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        ThreadPoolTaskExecutor executor = boundedExecutor("ws-outbound-", outboundCorePoolSize, outboundMaxPoolSize,
+                outboundQueueCapacity, transportMetrics.countingRejections("outbound",
+                        transportMetrics.discardingMessageFrames("outbound")));
+        transportMetrics.registerExecutor("outbound", executor);
+        registration.executor(executor).interceptors(transportMetrics.outboundLatencyInterceptor());
+    }
+
+    // Per-session limits: a client that cannot take its messages within the time limit, or
+    // lets more than the buffer limit queue up, is disconnected instead of stalling a worker
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(transportMetrics.sessionTracker());
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Sessions carry a typed principal (USER:42 / STAFF:7) so /user destinations resolve
         registry.addEndpoint("/ws")
+                .setHandshakeHandler(principalHandshakeHandler)
                 .setAllowedOriginPatterns("*")
-                .withSockJS();
+                .withSockJS()
+                .setHeartbeatTime(heartbeatMs * 2);
 
         registry.addEndpoint("/ws")
+                .setHandshakeHandler(principalHandshakeHandler)
                 .setAllowedOriginPatterns("*");
     }
+
+    private static ThreadPoolTaskExecutor boundedExecutor(String prefix, int core, int max, int queueCapacity,
+                                                          RejectedExecutionHandler rejectionPolicy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(Math.max(core, max));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(rejectionPolicy);
+        return executor;
+    }
 }
@@ -1,15 +1,14 @@
 package com.example.appdev.returnhub.controller;
 
+import com.example.appdev.returnhub.dto.ClaimDetailDTO;
 import com.example.appdev.returnhub.dto.ClaimRequestDTO;
 import com.example.appdev.returnhub.dto.ClaimResponseDTO;
 import com.example.appdev.returnhub.dto.ClaimStatusUpdateDTO;
-import com.example.appdev.returnhub.entity.Claim;
-import com.example.appdev.returnhub.repositor.ClaimRepository;
+import com.example.appdev.returnhub.dto.CursorPageDTO;
 import com.example.appdev.returnhub.service.ClaimService;
-import com.example.appdev.returnhub.entity.SubmittedReport;
-import com.example.appdev.returnhub.entity.User;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/claims")
@@ -26,9 +24,6 @@ public class ClaimController {
     @Autowired
     private ClaimService claimService;
 
-    @Autowired
-    ClaimRepository claimRepository;
-
     // ==================== USER ENDPOINTS ====================
 
 //    POST /api/claims
@@ -127,6 +122,12 @@ public class ClaimController {
 
             ClaimResponseDTO updatedClaim = claimService.updateStatusClaim(claimId, statusUpdateDTO);
             return new ResponseEntity<>(updatedClaim, HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            // Another reviewer decided this claim (or claimed the item) first
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -148,6 +149,12 @@ public class ClaimController {
 
             ClaimResponseDTO updatedClaim = claimService.updateStatusClaim(claimId, statusUpdateDTO);
             return new ResponseEntity<>(updatedClaim, HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            // Another reviewer decided this claim (or claimed the item) first
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -191,9 +198,25 @@ public class ClaimController {
         }
     }
 
+//    GET /api/claims/staff/items/{itemType}/{itemId}
+//    Get all claims for one lost or found item (itemType is 'lost' or 'found')
+
+    @GetMapping("/staff/items/{itemType}/{itemId}")
+    public ResponseEntity<?> getClaimsForItem(@PathVariable String itemType, @PathVariable int itemId) {
+        try {
+            List<ClaimResponseDTO> itemClaims = claimService.getClaimsForItem(itemType, itemId);
+            return new ResponseEntity<>(itemClaims, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+    }
+
 //    GET /api/claims/staff/items/{itemId}
 //    Get all claims for a specific item (lost or found)
-//    Useful for staff to see all claims on an item
+//    Deprecated: lost and found ids overlap, use /staff/items/{itemType}/{itemId}
 
     @GetMapping("/staff/items/{itemId}")
     public ResponseEntity<?> getClaimsByItemId(@PathVariable int itemId) {
@@ -208,81 +231,14 @@ public class ClaimController {
         }
     }
 
-    // In ClaimController.java
+    // Claims with item, claimant and staff details in one query
+    // Query params: status (optional)
     @GetMapping("/staff/with-details")
     public ResponseEntity<?> getAllClaimsWithDetails(
             @RequestParam(required = false) String status) {
         try {
-            List<Claim> claims;
-            if (status != null && !status.isEmpty()) {
-                claims = claimRepository.findByStatus(status);
-            } else {
-                claims = claimRepository.findAll();
-            }
-
-            List<Map<String, Object>> response = claims.stream().map(claim -> {
-                Map<String, Object> claimWithDetails = new HashMap<>();
-
-                // Basic claim info
-                claimWithDetails.put("claimId", claim.getClaimId());
-                claimWithDetails.put("status", claim.getStatus());
-                claimWithDetails.put("dateSubmitted", claim.getDateSubmitted());
-                claimWithDetails.put("proofDocumentUrl", claim.getProofDocumentUrl());
-
-                // Item info
-                if (claim.getLostItem() != null) {
-                    claimWithDetails.put("lostItemId", claim.getLostItem().getItemId());
-                    claimWithDetails.put("foundItemId", null);
-                    claimWithDetails.put("itemType", "lost");
-
-                    // Add item details from report
-                    if (claim.getLostItem().getSubmittedReport() != null) {
-                        SubmittedReport report = claim.getLostItem().getSubmittedReport();
-                        claimWithDetails.put("itemName", report.getItemName());
-                        claimWithDetails.put("category", report.getCategory());
-                        claimWithDetails.put("description", report.getDescription());
-                        claimWithDetails.put("location", report.getLocation());
-                        claimWithDetails.put("photoUrl", report.getPhotoUrl1() != null ? report.getPhotoUrl1() :
-                                (report.getPhotoUrl2() != null ? report.getPhotoUrl2() : report.getPhotoUrl3()));
-                        claimWithDetails.put("dateOfEvent", report.getDateOfEvent());
-                    }
-                } else if (claim.getFoundItem() != null) {
-                    claimWithDetails.put("foundItemId", claim.getFoundItem().getItemId());
-                    claimWithDetails.put("lostItemId", null);
-                    claimWithDetails.put("itemType", "found");
-
-                    // Add item details from report
-                    if (claim.getFoundItem().getSubmittedReport() != null) {
-                        SubmittedReport report = claim.getFoundItem().getSubmittedReport();
-                        claimWithDetails.put("itemName", report.getItemName());
-                        claimWithDetails.put("category", report.getCategory());
-                        claimWithDetails.put("description", report.getDescription());
-                        claimWithDetails.put("location", report.getLocation());
-                        claimWithDetails.put("photoUrl", report.getPhotoUrl1() != null ? report.getPhotoUrl1() :
-                                (report.getPhotoUrl2() != null ? report.getPhotoUrl2() : report.getPhotoUrl3()));
-                        claimWithDetails.put("dateOfEvent", report.getDateOfEvent());
-                    }
-                }
-
-                // User info
-                if (claim.getClaimantUser() != null) {
-                    User user = claim.getClaimantUser();
-                    claimWithDetails.put("claimantUserId", user.getUserId());
-                    claimWithDetails.put("claimantUserName", user.getName());
-                    claimWithDetails.put("claimantUserEmail", user.getEmail());
-                    claimWithDetails.put("claimantUserPhone", user.getPhone());
-                }
-
-                // Staff info if verified
-                if (claim.getVerifiedByStaff() != null) {
-                    claimWithDetails.put("verifiedByStaffId", claim.getVerifiedByStaff().getStaffId());
-                    claimWithDetails.put("verifiedByStaffName", claim.getVerifiedByStaff().getName());
-                }
-
-                return claimWithDetails;
-            }).collect(Collectors.toList());
-
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            List<ClaimDetailDTO> claims = claimService.getClaimDetails(status);
+            return new ResponseEntity<>(claims, HttpStatus.OK);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -290,4 +246,22 @@ public class ClaimController {
             return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    // One page of claims with details (keyset pagination)
+    // Query params: status, cursor (from the previous page), limit
+    @GetMapping("/staff/with-details/page")
+    public ResponseEntity<?> getClaimsWithDetailsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPageDTO<ClaimDetailDTO> page = claimService.getClaimDetailsPage(status, cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -2,15 +2,15 @@ package com.example.appdev.returnhub.controller;
 
 import com.example.appdev.returnhub.dto.ConversationDTO;
 import com.example.appdev.returnhub.dto.MessageDTO;
+import com.example.appdev.returnhub.dto.MessageHistoryPageDTO;
 import com.example.appdev.returnhub.service.ConversationService;
 import com.example.appdev.returnhub.service.MessageService;
+import com.example.appdev.returnhub.service.WebSocketMessagingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -30,7 +30,7 @@ public class ConversationController {
     private MessageService messageService;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private WebSocketMessagingService webSocketMessagingService;
 
     // ==================== REST ENDPOINTS ====================
 
@@ -127,6 +127,24 @@ public class ConversationController {
         }
     }
 
+    // GET /api/conversations/{conversationId}/history?before=&after=&limit=
+    // One window of the history; pass olderCursor as before to scroll back,
+    // newerCursor as after to catch up after a reconnect
+
+    @GetMapping("/{conversationId}/history")
+    public ResponseEntity<?> getMessageHistory(
+            @PathVariable int conversationId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            MessageHistoryPageDTO page = conversationService.getMessageHistory(conversationId, before, after, limit);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // POST /api/conversations/{conversationId}/messages
     // Send a message in a conversation (REST endpoint as fallback)
 
@@ -145,8 +163,8 @@ public class ConversationController {
 
             MessageDTO message = conversationService.sendMessage(conversationId, senderId, senderType, content);
 
-            // Broadcast to conversation topic for real-time updates
-            messagingTemplate.convertAndSend("/topic/conversation/" + conversationId, message);
+            // Broadcast to the conversation topic, plus the counterpart's queue if they aren't on it
+            webSocketMessagingService.sendMessageViaWebSocket(conversationId, message);
 
             return ResponseEntity.ok(message);
         } catch (RuntimeException e) {
@@ -218,16 +236,8 @@ public class ConversationController {
 
             MessageDTO message = conversationService.sendMessage(conversationId, senderId, senderType, content);
 
-            // Broadcast to conversation topic for all participants
-            messagingTemplate.convertAndSend("/topic/conversation/" + conversationId, message);
-
-            String destination = "/user/" +
-                    ("USER".equals(senderType) ? conversationService.getConversation(conversationId).getStaffId()
-                            : conversationService.getConversation(conversationId).getUserId())
-                    +
-                    "/queue/messages";
-
-            messagingTemplate.convertAndSend(destination, message);
+            // Broadcast to the conversation topic, plus the counterpart's queue if they aren't on it
+            webSocketMessagingService.sendMessageViaWebSocket(conversationId, message);
 
             return message;
         } catch (Exception e) {
@@ -0,0 +1,72 @@
+package com.example.appdev.returnhub.controller;
+
+import com.example.appdev.returnhub.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/staff/export")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ExportController {
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private ExportService exportService;
+
+    // GET /api/staff/export/{dataset}?format=ndjson|csv&status=...&type=...
+    // Streams every matching row as it is read; dataset is reports, claims or items
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<?> export(
+            @PathVariable String dataset,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type) {
+        try {
+            ExportService.Format exportFormat = ExportService.Format.parse(format);
+            StreamingResponseBody body;
+            switch (dataset.toLowerCase()) {
+                case "reports":
+                    body = exportService.exportReports(status, type, exportFormat);
+                    break;
+                case "claims":
+                    body = exportService.exportClaims(status, exportFormat);
+                    break;
+                case "items":
+                    body = exportService.exportItems(status, type, exportFormat);
+                    break;
+                default:
+                    return createErrorResponse("Unknown dataset: " + dataset + ". Must be reports, claims or items",
+                            HttpStatus.NOT_FOUND);
+            }
+
+            String filename = dataset.toLowerCase() + "-" + LocalDateTime.now().format(FILE_STAMP)
+                    + "." + exportFormat.getExtension();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                    .body(body);
+        } catch (RuntimeException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // ==================== HELPER METHOD ====================
+
+    private ResponseEntity<?> createErrorResponse(String message, HttpStatus status) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
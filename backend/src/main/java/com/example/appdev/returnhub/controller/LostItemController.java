@@ -1,13 +1,21 @@
 package com.example.appdev.returnhub.controller;
 
+import com.example.appdev.returnhub.dto.CursorPageDTO;
 import com.example.appdev.returnhub.dto.LostItemResponseDTO;
 import com.example.appdev.returnhub.service.LostItemService;
+import com.example.appdev.returnhub.service.PublicListingCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/lost-items")
@@ -15,9 +23,38 @@ public class LostItemController {
 
     @Autowired
     private LostItemService lostItemService;
+    @Autowired
+    private PublicListingCache publicListingCache;
 
+    // Served from the listing cache; answers 304 when If-None-Match carries the current ETag
     @GetMapping("/public")
-    public List<LostItemResponseDTO> getPublicLostItems() {
-        return lostItemService.getAllActiveLostItems();
+    public ResponseEntity<List<LostItemResponseDTO>> getPublicLostItems(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = publicListingCache.currentETag("lost");
+        if (publicListingCache.isNotModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(lostItemService.getAllActiveLostItems());
+    }
+
+    // Get one page of public lost items (keyset pagination)
+    // Query params: cursor (from the previous page), limit
+    @GetMapping("/public/page")
+    public ResponseEntity<?> getPublicLostItemsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        try {
+            String etag = publicListingCache.currentETag("lost");
+            if (publicListingCache.isNotModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            CursorPageDTO<LostItemResponseDTO> page = lostItemService.getActiveLostItemsPage(cursor, limit);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(page);
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("success", false, "message", String.valueOf(ex.getMessage())));
+        }
     }
-}
\ No newline at end of file
+}
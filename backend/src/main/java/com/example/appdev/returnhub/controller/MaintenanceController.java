@@ -1,6 +1,10 @@
 package com.example.appdev.returnhub.controller;
 
+import com.example.appdev.returnhub.dto.NotificationRetentionStatusDTO;
 import com.example.appdev.returnhub.service.MaintenanceService;
+import com.example.appdev.returnhub.service.NotificationRetentionService;
+import com.example.appdev.returnhub.service.PublicListingCache;
+import com.example.appdev.returnhub.service.WebSocketTransportMetrics;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,9 +15,18 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
 public class MaintenanceController {
     private final MaintenanceService maintenanceService;
+    private final NotificationRetentionService notificationRetentionService;
+    private final PublicListingCache publicListingCache;
+    private final WebSocketTransportMetrics webSocketTransportMetrics;
 
-    public MaintenanceController(MaintenanceService maintenanceService) {
+    public MaintenanceController(MaintenanceService maintenanceService,
+                                 NotificationRetentionService notificationRetentionService,
+                                 PublicListingCache publicListingCache,
+                                 WebSocketTransportMetrics webSocketTransportMetrics) {
         this.maintenanceService = maintenanceService;
+        this.notificationRetentionService = notificationRetentionService;
+        this.publicListingCache = publicListingCache;
+        this.webSocketTransportMetrics = webSocketTransportMetrics;
     }
 
     @PostMapping("/backfill-photos")
@@ -21,4 +34,47 @@ public class MaintenanceController {
         Map<String, Integer> result = maintenanceService.backfillReportPhotos();
         return ResponseEntity.ok(result);
     }
+
+    @PostMapping("/backfill-conversations")
+    public ResponseEntity<Map<String, Integer>> backfillConversations() {
+        Map<String, Integer> result = maintenanceService.backfillConversationLastMessages();
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/reconcile-unread")
+    public ResponseEntity<Map<String, Integer>> reconcileUnread() {
+        Map<String, Integer> result = maintenanceService.reconcileUnreadCounters();
+        return ResponseEntity.ok(result);
+    }
+
+    // Status of the notification retention job (last run, rows removed, settings)
+    @GetMapping("/notification-retention")
+    public ResponseEntity<NotificationRetentionStatusDTO> getNotificationRetention() {
+        return ResponseEntity.ok(notificationRetentionService.getStatus());
+    }
+
+    // Runs a retention pass now (no-op if one is already running)
+    @PostMapping("/notification-retention")
+    public ResponseEntity<NotificationRetentionStatusDTO> runNotificationRetention() {
+        return ResponseEntity.ok(notificationRetentionService.runNow());
+    }
+
+    // Hit/miss rates, size and versions of the public listing cache
+    @GetMapping("/listing-cache")
+    public ResponseEntity<Map<String, Object>> getListingCacheStats() {
+        return ResponseEntity.ok(publicListingCache.getStats());
+    }
+
+    // Drops every cached listing page (e.g. after editing rows directly in the database)
+    @PostMapping("/listing-cache/invalidate")
+    public ResponseEntity<Map<String, Object>> invalidateListingCache() {
+        publicListingCache.invalidate(null);
+        return ResponseEntity.ok(publicListingCache.getStats());
+    }
+
+    // Channel queue depths and rejections, open/dropped sessions and outbound send latency
+    @GetMapping("/websocket")
+    public ResponseEntity<Map<String, Object>> getWebSocketMetrics() {
+        return ResponseEntity.ok(webSocketTransportMetrics.getSnapshot());
+    }
 }
@@ -0,0 +1,62 @@
+package com.example.appdev.returnhub.controller;
+
+import com.example.appdev.returnhub.dto.MatchResultDTO;
+import com.example.appdev.returnhub.service.ReportMatchingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/matches")
+@CrossOrigin(origins = "http://localhost:5173")
+public class MatchController {
+
+    @Autowired
+    private ReportMatchingService reportMatchingService;
+
+    // GET /api/matches/report/{reportId}?limit=5
+    // Best lost/found counterparts for a report, highest score first
+
+    @GetMapping("/report/{reportId}")
+    public ResponseEntity<?> getMatchesForReport(
+            @PathVariable int reportId,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            List<MatchResultDTO> matches = reportMatchingService.findMatchesForReport(reportId, limit);
+            return ResponseEntity.ok(matches);
+        } catch (RuntimeException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    // GET /api/matches/stats
+    // Size of the in-memory item index
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Integer>> getIndexStats() {
+        return ResponseEntity.ok(reportMatchingService.getIndexStats());
+    }
+
+    // POST /api/matches/reindex
+    // Rebuilds the index from the active items
+
+    @PostMapping("/reindex")
+    public ResponseEntity<Map<String, Integer>> reindex() {
+        reportMatchingService.seed();
+        return ResponseEntity.ok(reportMatchingService.getIndexStats());
+    }
+
+    // ==================== HELPER METHOD ====================
+
+    private ResponseEntity<?> createErrorResponse(String message, HttpStatus status) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.appdev.returnhub.controller;
 
+import com.example.appdev.returnhub.config.StompPrincipal;
 import com.example.appdev.returnhub.dto.MessageDTO;
+import com.example.appdev.returnhub.dto.MessageHistoryPageDTO;
 import com.example.appdev.returnhub.service.MessageService;
+import com.example.appdev.returnhub.service.PresenceService;
 import com.example.appdev.returnhub.service.WebSocketMessagingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -13,6 +16,7 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +32,9 @@ public class MessageController {
     @Autowired
     private WebSocketMessagingService webSocketMessagingService;
 
+    @Autowired
+    private PresenceService presenceService;
+
     // ==================== REST ENDPOINTS ====================
 
 //    GET /api/messages/conversation/{conversationId}
@@ -43,6 +50,23 @@ public class MessageController {
         }
     }
 
+//    GET /api/messages/conversation/{conversationId}/history?before=&after=&limit=
+//    Get one window of the history (cursor pagination in both directions)
+
+    @GetMapping("/conversation/{conversationId}/history")
+    public ResponseEntity<?> getMessageHistory(
+            @PathVariable int conversationId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            MessageHistoryPageDTO page = messageService.getMessageHistory(conversationId, before, after, limit);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
 //    GET /api/messages/{messageId}
 //    Get specific message by ID
 
@@ -243,7 +267,7 @@ public class MessageController {
 //    WebSocket endpoint for typing indicators
 
     @MessageMapping("/chat.typing")
-    public void handleTyping(@Payload Map<String, Object> typingData) {
+    public void handleTyping(@Payload Map<String, Object> typingData, Principal principal) {
         try {
             Integer conversationId = (Integer) typingData.get("conversationId");
             Integer userId = (Integer) typingData.get("userId");
@@ -251,10 +275,15 @@ public class MessageController {
             String userName = (String) typingData.get("userName");
             Boolean isTyping = (Boolean) typingData.get("isTyping");
 
+            // A session bound to an account can only type as that account
+            if (principal instanceof StompPrincipal) {
+                userId = ((StompPrincipal) principal).getId();
+                userType = ((StompPrincipal) principal).getType();
+            }
+
             if (conversationId != null && userId != null && userType != null && userName != null && isTyping != null) {
-                webSocketMessagingService.sendTypingIndicator(
-                        conversationId, userId, userType, userName, isTyping
-                );
+                // Only records the state; broadcasts are coalesced and rate-limited
+                presenceService.onTyping(conversationId, userType, userId, userName, isTyping);
             }
         } catch (Exception e) {
             System.err.println("Error handling typing indicator: " + e.getMessage());
@@ -1,5 +1,7 @@
 package com.example.appdev.returnhub.controller;
 
+import com.example.appdev.returnhub.dto.CursorPageDTO;
+import com.example.appdev.returnhub.dto.NotificationDTO;
 import com.example.appdev.returnhub.entity.Notification;
 import com.example.appdev.returnhub.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,13 +52,32 @@ public class NotificationController {
             @PathVariable int userId,
             @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<Notification> notifications = notificationService.getRecentNotifications(userId, limit);
+            List<NotificationDTO> notifications = notificationService.getRecentNotifications(userId, limit);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return createErrorResponse("Error fetching recent notifications: " + e.getMessage());
         }
     }
 
+//    GET /api/notifications/user/{userId}/feed?cursor=&limit=
+//    Get one page of notifications, newest first (pass nextCursor back for older ones)
+
+    @GetMapping("/user/{userId}/feed")
+    public ResponseEntity<?> getNotificationFeed(
+            @PathVariable int userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPageDTO<NotificationDTO> page = notificationService.getNotificationFeed(userId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
 
 //    GET /api/notifications/user/{userId}/unread-count
 //    Get unread notifications count (for bell badge)
@@ -106,12 +127,13 @@ public class NotificationController {
     @PutMapping("/user/{userId}/read-all")
     public ResponseEntity<?> markAllAsRead(@PathVariable int userId) {
         try {
-            notificationService.markAllAsRead(userId);
+            int updated = notificationService.markAllAsRead(userId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "All notifications marked as read");
             response.put("userId", userId);
+            response.put("updatedCount", updated);
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -150,12 +172,13 @@ public class NotificationController {
     @DeleteMapping("/user/{userId}/clear")
     public ResponseEntity<?> clearAllNotifications(@PathVariable int userId) {
         try {
-            notificationService.clearAllNotifications(userId);
+            int deleted = notificationService.clearAllNotifications(userId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "All notifications cleared");
             response.put("userId", userId);
+            response.put("deletedCount", deleted);
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -199,6 +222,9 @@ public class NotificationController {
         dto.put("message", notification.getMessage());
         dto.put("read", notification.isRead());
         dto.put("createdAt", notification.getCreatedAt());
+        dto.put("type", notification.getType());
+        dto.put("relatedId", notification.getRelatedId());
+        dto.put("count", notification.getEventCount());
 
         if (notification.getUser() != null) {
             dto.put("userId", notification.getUser().getUserId());
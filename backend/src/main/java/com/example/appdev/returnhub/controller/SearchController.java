@@ -0,0 +1,52 @@
+package com.example.appdev.returnhub.controller;
+
+import com.example.appdev.returnhub.dto.ItemSearchPageDTO;
+import com.example.appdev.returnhub.service.ItemSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SearchController {
+
+    @Autowired
+    private ItemSearchService itemSearchService;
+
+    // GET /api/search/items?q=black+wallet&type=lost&category=Wallet&location=library&from=2025-01-01&to=2025-02-01&page=0&size=20
+    // Publicly listed items, ranked by relevance when q is given, otherwise newest first
+
+    @GetMapping("/items")
+    public ResponseEntity<?> searchItems(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        try {
+            ItemSearchPageDTO result = itemSearchService.search(q, type, category, location, from, to, page, size);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // ==================== HELPER METHOD ====================
+
+    private ResponseEntity<?> createErrorResponse(String message, HttpStatus status) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
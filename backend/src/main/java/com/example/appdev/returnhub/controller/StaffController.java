@@ -1,6 +1,7 @@
 package com.example.appdev.returnhub.controller;
 
 import com.example.appdev.returnhub.dto.ClaimResponseDTO;
+import com.example.appdev.returnhub.dto.DashboardStatsDTO;
 import com.example.appdev.returnhub.dto.SubmittedReportResponseDTO;
 import com.example.appdev.returnhub.entity.Staff;
 import com.example.appdev.returnhub.service.*;
@@ -28,6 +29,8 @@ public class StaffController{
     private LostItemService lostItemService;
     @Autowired
     private StaffService staffService;
+    @Autowired
+    private DashboardCounterStore dashboardCounterStore;
 
     // ==================== DASHBOARD ENDPOINTS ====================
 
@@ -37,30 +40,7 @@ public class StaffController{
     @GetMapping("/dashboard/stats")
     public ResponseEntity<?> getDashboardStats() {
         try {
-            Map<String, Object> stats = new HashMap<>();
-
-            List<SubmittedReportResponseDTO> pendingReports = submittedReportService.getPendingReports();
-            stats.put("pendingReports", pendingReports.size());
-
-            List<ClaimResponseDTO> pendingClaims = claimService.getAllClaims("pending");
-            stats.put("pendingClaims", pendingClaims.size());
-
-            List<SubmittedReportResponseDTO> allReports = submittedReportService.getAllReports();
-            long activeLostItems = allReports.stream()
-                    .filter(r -> "lost".equalsIgnoreCase(r.getType()) && "approved".equalsIgnoreCase(r.getStatus()))
-                    .count();
-            stats.put("activeLostItems", activeLostItems);
-
-            long activeFoundItems = allReports.stream()
-                    .filter(r -> "found".equalsIgnoreCase(r.getType()) && "approved".equalsIgnoreCase(r.getStatus()))
-                    .count();
-            stats.put("activeFoundItems", activeFoundItems);
-
-            long resolvedCases = allReports.stream()
-                    .filter(r -> "approved".equalsIgnoreCase(r.getStatus()) || "rejected".equalsIgnoreCase(r.getStatus()))
-                    .count();
-            stats.put("resolvedCases", resolvedCases);
-
+            DashboardStatsDTO stats = dashboardCounterStore.getStats();
             return ResponseEntity.ok(stats);
 
         } catch (Exception e) {
@@ -217,6 +197,33 @@ public class StaffController{
         }
     }
 
+//    GET /api/staff/reports/page
+//    Get one page of reports (keyset pagination, newest first)
+//    Query params: status, type, category, cursor (nextCursor of the previous page), limit
+
+    @GetMapping("/reports/page")
+    public ResponseEntity<?> getReportsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            return ResponseEntity.ok(submittedReportService.getReportsPage(status, type, category, cursor, limit));
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "Error fetching reports: " + e.getMessage());
+            return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
 //    GET /api/staff/reports/pending
 //    Get pending reports (alias for /api/reports/pending)
 
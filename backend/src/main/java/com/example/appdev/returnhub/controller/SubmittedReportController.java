@@ -1,5 +1,6 @@
 package com.example.appdev.returnhub.controller;
 
+import com.example.appdev.returnhub.dto.CursorPageDTO;
 import com.example.appdev.returnhub.dto.SubmittedReportRequestDTO;
 import com.example.appdev.returnhub.dto.SubmittedReportResponseDTO;
 import com.example.appdev.returnhub.dto.ReportStatusUpdateDTO;
@@ -49,6 +50,25 @@ public class SubmittedReportController {
         return new ResponseEntity<>(reports, HttpStatus.OK);
     }
 
+    // Get one page of reports (keyset pagination)
+    // Query params: status, type, category, cursor (from the previous page), limit
+    @GetMapping("/page")
+    public ResponseEntity<?> getReportsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPageDTO<SubmittedReportResponseDTO> page =
+                    submittedReportService.getReportsPage(status, type, category, cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(java.util.Map.of("success", false, "message", String.valueOf(ex.getMessage())));
+        }
+    }
+
     // Get report by ID
     @GetMapping("/{id}")
     public ResponseEntity<SubmittedReportResponseDTO> getReportById(@PathVariable int id) {
@@ -0,0 +1,208 @@
+package com.example.appdev.returnhub.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A claim with its item, claimant and verifying staff flattened in, filled by one JPQL
+// constructor expression. Field names match the keys of the old map-based response.
+public class ClaimDetailDTO {
+    private int claimId;
+    private String status;
+    private LocalDateTime dateSubmitted;
+    private String proofDocumentUrl;
+    private Integer lostItemId;
+    private Integer foundItemId;
+    private String itemType;
+    private String itemName;
+    private String category;
+    private String description;
+    private String location;
+    private String photoUrl;
+    private LocalDate dateOfEvent;
+    private Integer claimantUserId;
+    private String claimantUserName;
+    private String claimantUserEmail;
+    private String claimantUserPhone;
+    private Integer verifiedByStaffId;
+    private String verifiedByStaffName;
+
+    public ClaimDetailDTO() {}
+
+    public ClaimDetailDTO(int claimId, String status, LocalDateTime dateSubmitted, String proofDocumentUrl,
+                          Integer lostItemId, Integer foundItemId, String itemType, String itemName, String category,
+                          String description, String location, String photoUrl, LocalDate dateOfEvent,
+                          Integer claimantUserId, String claimantUserName, String claimantUserEmail,
+                          String claimantUserPhone, Integer verifiedByStaffId, String verifiedByStaffName) {
+        this.claimId = claimId;
+        this.status = status;
+        this.dateSubmitted = dateSubmitted;
+        this.proofDocumentUrl = proofDocumentUrl;
+        this.lostItemId = lostItemId;
+        this.foundItemId = foundItemId;
+        this.itemType = itemType;
+        this.itemName = itemName;
+        this.category = category;
+        this.description = description;
+        this.location = location;
+        this.photoUrl = photoUrl;
+        this.dateOfEvent = dateOfEvent;
+        this.claimantUserId = claimantUserId;
+        this.claimantUserName = claimantUserName;
+        this.claimantUserEmail = claimantUserEmail;
+        this.claimantUserPhone = claimantUserPhone;
+        this.verifiedByStaffId = verifiedByStaffId;
+        this.verifiedByStaffName = verifiedByStaffName;
+    }
+
+    public int getClaimId() {
+        return claimId;
+    }
+
+    public void setClaimId(int claimId) {
+        this.claimId = claimId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getDateSubmitted() {
+        return dateSubmitted;
+    }
+
+    public void setDateSubmitted(LocalDateTime dateSubmitted) {
+        this.dateSubmitted = dateSubmitted;
+    }
+
+    public String getProofDocumentUrl() {
+        return proofDocumentUrl;
+    }
+
+    public void setProofDocumentUrl(String proofDocumentUrl) {
+        this.proofDocumentUrl = proofDocumentUrl;
+    }
+
+    public Integer getLostItemId() {
+        return lostItemId;
+    }
+
+    public void setLostItemId(Integer lostItemId) {
+        this.lostItemId = lostItemId;
+    }
+
+    public Integer getFoundItemId() {
+        return foundItemId;
+    }
+
+    public void setFoundItemId(Integer foundItemId) {
+        this.foundItemId = foundItemId;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public void setItemType(String itemType) {
+        this.itemType = itemType;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public LocalDate getDateOfEvent() {
+        return dateOfEvent;
+    }
+
+    public void setDateOfEvent(LocalDate dateOfEvent) {
+        this.dateOfEvent = dateOfEvent;
+    }
+
+    public Integer getClaimantUserId() {
+        return claimantUserId;
+    }
+
+    public void setClaimantUserId(Integer claimantUserId) {
+        this.claimantUserId = claimantUserId;
+    }
+
+    public String getClaimantUserName() {
+        return claimantUserName;
+    }
+
+    public void setClaimantUserName(String claimantUserName) {
+        this.claimantUserName = claimantUserName;
+    }
+
+    public String getClaimantUserEmail() {
+        return claimantUserEmail;
+    }
+
+    public void setClaimantUserEmail(String claimantUserEmail) {
+        this.claimantUserEmail = claimantUserEmail;
+    }
+
+    public String getClaimantUserPhone() {
+        return claimantUserPhone;
+    }
+
+    public void setClaimantUserPhone(String claimantUserPhone) {
+        this.claimantUserPhone = claimantUserPhone;
+    }
+
+    public Integer getVerifiedByStaffId() {
+        return verifiedByStaffId;
+    }
+
+    public void setVerifiedByStaffId(Integer verifiedByStaffId) {
+        this.verifiedByStaffId = verifiedByStaffId;
+    }
+
+    public String getVerifiedByStaffName() {
+        return verifiedByStaffName;
+    }
+
+    public void setVerifiedByStaffName(String verifiedByStaffName) {
+        this.verifiedByStaffName = verifiedByStaffName;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.appdev.returnhub.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Flat, read-only row of the staff claim export (built by a JPQL constructor expression)
+public class ClaimExportRowDTO {
+    private final int claimId;
+    private final String status;
+    private final LocalDateTime dateSubmitted;
+    private final String itemType;
+    private final Integer itemId;
+    private final Integer reportId;
+    private final String itemName;
+    private final String category;
+    private final String location;
+    private final LocalDate dateOfEvent;
+    private final Integer claimantUserId;
+    private final String claimantName;
+    private final String claimantEmail;
+    private final Integer verifiedByStaffId;
+    private final String verifiedByStaffName;
+    private final String proofDocumentUrl;
+
+    public ClaimExportRowDTO(int claimId, String status, LocalDateTime dateSubmitted, String itemType,
+                             Integer itemId, Integer reportId, String itemName, String category, String location,
+                             LocalDate dateOfEvent, Integer claimantUserId, String claimantName,
+                             String claimantEmail, Integer verifiedByStaffId, String verifiedByStaffName,
+                             String proofDocumentUrl) {
+        this.claimId = claimId;
+        this.status = status;
+        this.dateSubmitted = dateSubmitted;
+        this.itemType = itemType;
+        this.itemId = itemId;
+        this.reportId = reportId;
+        this.itemName = itemName;
+        this.category = category;
+        this.location = location;
+        this.dateOfEvent = dateOfEvent;
+        this.claimantUserId = claimantUserId;
+        this.claimantName = claimantName;
+        this.claimantEmail = claimantEmail;
+        this.verifiedByStaffId = verifiedByStaffId;
+        this.verifiedByStaffName = verifiedByStaffName;
+        this.proofDocumentUrl = proofDocumentUrl;
+    }
+
+    public int getClaimId() {
+        return claimId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getDateSubmitted() {
+        return dateSubmitted;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public Integer getItemId() {
+        return itemId;
+    }
+
+    public Integer getReportId() {
+        return reportId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDate getDateOfEvent() {
+        return dateOfEvent;
+    }
+
+    public Integer getClaimantUserId() {
+        return claimantUserId;
+    }
+
+    public String getClaimantName() {
+        return claimantName;
+    }
+
+    public String getClaimantEmail() {
+        return claimantEmail;
+    }
+
+    public Integer getVerifiedByStaffId() {
+        return verifiedByStaffId;
+    }
+
+    public String getVerifiedByStaffName() {
+        return verifiedByStaffName;
+    }
+
+    public String getProofDocumentUrl() {
+        return proofDocumentUrl;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.appdev.returnhub.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One change announcement between backend nodes (see ClusterEventBus). Carries ids and
+// keys only; receivers re-read or invalidate their own state.
+public class ClusterEventDTO {
+    private String origin;
+    private String kind;
+    private List<String> keys = new ArrayList<>();
+
+    public ClusterEventDTO() {}
+
+    public ClusterEventDTO(String origin, String kind, List<String> keys) {
+        this.origin = origin;
+        this.kind = kind;
+        this.keys = keys;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(List<String> keys) {
+        this.keys = keys;
+    }
+}
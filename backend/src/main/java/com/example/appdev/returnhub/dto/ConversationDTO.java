@@ -14,6 +14,9 @@ public class ConversationDTO {
     private LocalDateTime lastMessageTime;
     private int unreadCount;
     private LocalDateTime createdAt;
+    // Whether each participant has a live WebSocket session (filled in by ConversationService)
+    private boolean userOnline;
+    private boolean staffOnline;
 
     public ConversationDTO() {}
 
@@ -25,6 +28,22 @@ public class ConversationDTO {
         this.staffName = staffName;
     }
 
+    // Used by the inbox constructor expressions in ConversationRepository
+    public ConversationDTO(int conversationId, int userId, String userName, String userProfileImage,
+                           int staffId, String staffName, String staffProfileImage,
+                           String lastMessage, LocalDateTime lastMessageTime, int unreadCount) {
+        this.conversationId = conversationId;
+        this.userId = userId;
+        this.userName = userName;
+        this.userProfileImage = userProfileImage;
+        this.staffId = staffId;
+        this.staffName = staffName;
+        this.staffProfileImage = staffProfileImage;
+        this.lastMessage = lastMessage;
+        this.lastMessageTime = lastMessageTime;
+        this.unreadCount = unreadCount;
+    }
+
     public int getConversationId() {
         return conversationId;
     }
@@ -112,4 +131,20 @@ public class ConversationDTO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public boolean isUserOnline() {
+        return userOnline;
+    }
+
+    public void setUserOnline(boolean userOnline) {
+        this.userOnline = userOnline;
+    }
+
+    public boolean isStaffOnline() {
+        return staffOnline;
+    }
+
+    public void setStaffOnline(boolean staffOnline) {
+        this.staffOnline = staffOnline;
+    }
 }
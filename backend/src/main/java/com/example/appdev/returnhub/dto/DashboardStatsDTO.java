@@ -0,0 +1,91 @@
+package com.example.appdev.returnhub.dto;
+
+import java.util.Map;
+
+public class DashboardStatsDTO {
+    private long pendingReports;
+    private long pendingClaims;
+    private long activeLostItems;
+    private long activeFoundItems;
+    private long resolvedCases;
+
+    // Raw breakdowns, keyed by lower-case status ("status:type" for reports)
+    private Map<String, Long> reportsByStatusAndType;
+    private Map<String, Long> claimsByStatus;
+    private Map<String, Long> lostItemsByStatus;
+    private Map<String, Long> foundItemsByStatus;
+
+    public DashboardStatsDTO() {}
+
+    public long getPendingReports() {
+        return pendingReports;
+    }
+
+    public void setPendingReports(long pendingReports) {
+        this.pendingReports = pendingReports;
+    }
+
+    public long getPendingClaims() {
+        return pendingClaims;
+    }
+
+    public void setPendingClaims(long pendingClaims) {
+        this.pendingClaims = pendingClaims;
+    }
+
+    public long getActiveLostItems() {
+        return activeLostItems;
+    }
+
+    public void setActiveLostItems(long activeLostItems) {
+        this.activeLostItems = activeLostItems;
+    }
+
+    public long getActiveFoundItems() {
+        return activeFoundItems;
+    }
+
+    public void setActiveFoundItems(long activeFoundItems) {
+        this.activeFoundItems = activeFoundItems;
+    }
+
+    public long getResolvedCases() {
+        return resolvedCases;
+    }
+
+    public void setResolvedCases(long resolvedCases) {
+        this.resolvedCases = resolvedCases;
+    }
+
+    public Map<String, Long> getReportsByStatusAndType() {
+        return reportsByStatusAndType;
+    }
+
+    public void setReportsByStatusAndType(Map<String, Long> reportsByStatusAndType) {
+        this.reportsByStatusAndType = reportsByStatusAndType;
+    }
+
+    public Map<String, Long> getClaimsByStatus() {
+        return claimsByStatus;
+    }
+
+    public void setClaimsByStatus(Map<String, Long> claimsByStatus) {
+        this.claimsByStatus = claimsByStatus;
+    }
+
+    public Map<String, Long> getLostItemsByStatus() {
+        return lostItemsByStatus;
+    }
+
+    public void setLostItemsByStatus(Map<String, Long> lostItemsByStatus) {
+        this.lostItemsByStatus = lostItemsByStatus;
+    }
+
+    public Map<String, Long> getFoundItemsByStatus() {
+        return foundItemsByStatus;
+    }
+
+    public void setFoundItemsByStatus(Map<String, Long> foundItemsByStatus) {
+        this.foundItemsByStatus = foundItemsByStatus;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.appdev.returnhub.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Flat, read-only row of the staff lost/found item export (built by a JPQL constructor expression)
+public class ItemExportRowDTO {
+    private final String itemType;
+    private final int itemId;
+    private final String status;
+    private final LocalDateTime createdAt;
+    private final int reportId;
+    private final String itemName;
+    private final String category;
+    private final String location;
+    private final LocalDate dateOfEvent;
+    private final Integer postedByStaffId;
+    private final String postedByStaffName;
+
+    public ItemExportRowDTO(String itemType, int itemId, String status, LocalDateTime createdAt, int reportId,
+                            String itemName, String category, String location, LocalDate dateOfEvent,
+                            Integer postedByStaffId, String postedByStaffName) {
+        this.itemType = itemType;
+        this.itemId = itemId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.reportId = reportId;
+        this.itemName = itemName;
+        this.category = category;
+        this.location = location;
+        this.dateOfEvent = dateOfEvent;
+        this.postedByStaffId = postedByStaffId;
+        this.postedByStaffName = postedByStaffName;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getReportId() {
+        return reportId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDate getDateOfEvent() {
+        return dateOfEvent;
+    }
+
+    public Integer getPostedByStaffId() {
+        return postedByStaffId;
+    }
+
+    public String getPostedByStaffName() {
+        return postedByStaffName;
+    }
+}
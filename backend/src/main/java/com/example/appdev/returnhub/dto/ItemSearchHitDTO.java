@@ -0,0 +1,114 @@
+package com.example.appdev.returnhub.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One publicly listed lost/found item in a search result; score is 0 when no keywords were given
+public class ItemSearchHitDTO {
+    private int reportId;
+    private int itemId;
+    private String type;
+    private String itemName;
+    private String category;
+    private String location;
+    private LocalDate dateOfEvent;
+    private String photoUrl;
+    private LocalDateTime listedAt;
+    private double score;
+
+    public ItemSearchHitDTO() {}
+
+    public ItemSearchHitDTO(int reportId, int itemId, String type, String itemName, String category, String location,
+                            LocalDate dateOfEvent, String photoUrl, LocalDateTime listedAt, double score) {
+        this.reportId = reportId;
+        this.itemId = itemId;
+        this.type = type;
+        this.itemName = itemName;
+        this.category = category;
+        this.location = location;
+        this.dateOfEvent = dateOfEvent;
+        this.photoUrl = photoUrl;
+        this.listedAt = listedAt;
+        this.score = score;
+    }
+
+    public int getReportId() {
+        return reportId;
+    }
+
+    public void setReportId(int reportId) {
+        this.reportId = reportId;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(int itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public LocalDate getDateOfEvent() {
+        return dateOfEvent;
+    }
+
+    public void setDateOfEvent(LocalDate dateOfEvent) {
+        this.dateOfEvent = dateOfEvent;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public LocalDateTime getListedAt() {
+        return listedAt;
+    }
+
+    public void setListedAt(LocalDateTime listedAt) {
+        this.listedAt = listedAt;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
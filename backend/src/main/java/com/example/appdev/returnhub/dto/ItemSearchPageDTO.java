@@ -0,0 +1,62 @@
+package com.example.appdev.returnhub.dto;
+
+import java.util.List;
+
+// One page of item search results; page is zero-based, total counts every match
+public class ItemSearchPageDTO {
+    private List<ItemSearchHitDTO> items;
+    private int page;
+    private int size;
+    private int total;
+    private boolean hasMore;
+
+    public ItemSearchPageDTO() {}
+
+    public ItemSearchPageDTO(List<ItemSearchHitDTO> items, int page, int size, int total, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.hasMore = hasMore;
+    }
+
+    public List<ItemSearchHitDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemSearchHitDTO> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
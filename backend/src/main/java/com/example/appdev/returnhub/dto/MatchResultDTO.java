@@ -0,0 +1,103 @@
+package com.example.appdev.returnhub.dto;
+
+import java.time.LocalDate;
+
+// One candidate counterpart for a lost or found report, with its match score (0..1)
+public class MatchResultDTO {
+    private int reportId;
+    private int itemId;
+    private String type;
+    private String itemName;
+    private String category;
+    private String location;
+    private LocalDate dateOfEvent;
+    private String photoUrl;
+    private double score;
+
+    public MatchResultDTO() {}
+
+    public MatchResultDTO(int reportId, int itemId, String type, String itemName, String category,
+                          String location, LocalDate dateOfEvent, String photoUrl, double score) {
+        this.reportId = reportId;
+        this.itemId = itemId;
+        this.type = type;
+        this.itemName = itemName;
+        this.category = category;
+        this.location = location;
+        this.dateOfEvent = dateOfEvent;
+        this.photoUrl = photoUrl;
+        this.score = score;
+    }
+
+    public int getReportId() {
+        return reportId;
+    }
+
+    public void setReportId(int reportId) {
+        this.reportId = reportId;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(int itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public LocalDate getDateOfEvent() {
+        return dateOfEvent;
+    }
+
+    public void setDateOfEvent(LocalDate dateOfEvent) {
+        this.dateOfEvent = dateOfEvent;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
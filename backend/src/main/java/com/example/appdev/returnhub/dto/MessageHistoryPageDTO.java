@@ -0,0 +1,74 @@
+package com.example.appdev.returnhub.dto;
+
+import java.util.List;
+
+// One window of a conversation's history, always in ascending order.
+// olderCursor goes into ?before= to scroll back, newerCursor into ?after= to catch up.
+public class MessageHistoryPageDTO {
+    private List<MessageDTO> messages;
+    private String olderCursor;
+    private String newerCursor;
+    private boolean hasOlder;
+    private boolean hasNewer;
+    private int limit;
+
+    public MessageHistoryPageDTO() {}
+
+    public MessageHistoryPageDTO(List<MessageDTO> messages, String olderCursor, String newerCursor,
+                                 boolean hasOlder, boolean hasNewer, int limit) {
+        this.messages = messages;
+        this.olderCursor = olderCursor;
+        this.newerCursor = newerCursor;
+        this.hasOlder = hasOlder;
+        this.hasNewer = hasNewer;
+        this.limit = limit;
+    }
+
+    public List<MessageDTO> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<MessageDTO> messages) {
+        this.messages = messages;
+    }
+
+    public String getOlderCursor() {
+        return olderCursor;
+    }
+
+    public void setOlderCursor(String olderCursor) {
+        this.olderCursor = olderCursor;
+    }
+
+    public String getNewerCursor() {
+        return newerCursor;
+    }
+
+    public void setNewerCursor(String newerCursor) {
+        this.newerCursor = newerCursor;
+    }
+
+    public boolean isHasOlder() {
+        return hasOlder;
+    }
+
+    public void setHasOlder(boolean hasOlder) {
+        this.hasOlder = hasOlder;
+    }
+
+    public boolean isHasNewer() {
+        return hasNewer;
+    }
+
+    public void setHasNewer(boolean hasNewer) {
+        this.hasNewer = hasNewer;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.appdev.returnhub.dto;
+
+import java.time.LocalDateTime;
+
+// Compact notification row for the sidebar feed (no entity, no lazy User proxy)
+public class NotificationDTO {
+    private int notificationId;
+    private int userId;
+    private String message;
+    private boolean isRead;
+    private LocalDateTime createdAt;
+    private String type;
+    private Integer relatedId;
+    private int count;
+    private LocalDateTime lastActivityAt;
+
+    public NotificationDTO() {}
+
+    // Used by the feed constructor expressions in NotificationRepository
+    public NotificationDTO(int notificationId, int userId, String message, boolean isRead,
+                           LocalDateTime createdAt, String type, Integer relatedId, int count,
+                           LocalDateTime lastActivityAt) {
+        this.notificationId = notificationId;
+        this.userId = userId;
+        this.message = message;
+        this.isRead = isRead;
+        this.createdAt = createdAt;
+        this.type = type;
+        this.relatedId = relatedId;
+        this.count = count;
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public int getNotificationId() {
+        return notificationId;
+    }
+
+    public void setNotificationId(int notificationId) {
+        this.notificationId = notificationId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public boolean isRead() {
+        return isRead;
+    }
+
+    public void setRead(boolean read) {
+        isRead = read;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getRelatedId() {
+        return relatedId;
+    }
+
+    public void setRelatedId(Integer relatedId) {
+        this.relatedId = relatedId;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(LocalDateTime lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.appdev.returnhub.dto;
+
+import java.time.LocalDateTime;
+
+// Snapshot of the notification retention job, served by /api/maintenance/notification-retention
+public class NotificationRetentionStatusDTO {
+    private boolean enabled;
+    private boolean running;
+    private int readMaxAgeDays;
+    private int perUserCap;
+    private int chunkSize;
+
+    private LocalDateTime lastStartedAt;
+    private LocalDateTime lastFinishedAt;
+    private long lastAgeDeleted;
+    private long lastCapDeleted;
+    private int lastChunks;
+    private String lastError;
+    private long totalDeleted;
+
+    public NotificationRetentionStatusDTO() {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public int getReadMaxAgeDays() {
+        return readMaxAgeDays;
+    }
+
+    public void setReadMaxAgeDays(int readMaxAgeDays) {
+        this.readMaxAgeDays = readMaxAgeDays;
+    }
+
+    public int getPerUserCap() {
+        return perUserCap;
+    }
+
+    public void setPerUserCap(int perUserCap) {
+        this.perUserCap = perUserCap;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public LocalDateTime getLastStartedAt() {
+        return lastStartedAt;
+    }
+
+    public void setLastStartedAt(LocalDateTime lastStartedAt) {
+        this.lastStartedAt = lastStartedAt;
+    }
+
+    public LocalDateTime getLastFinishedAt() {
+        return lastFinishedAt;
+    }
+
+    public void setLastFinishedAt(LocalDateTime lastFinishedAt) {
+        this.lastFinishedAt = lastFinishedAt;
+    }
+
+    public long getLastAgeDeleted() {
+        return lastAgeDeleted;
+    }
+
+    public void setLastAgeDeleted(long lastAgeDeleted) {
+        this.lastAgeDeleted = lastAgeDeleted;
+    }
+
+    public long getLastCapDeleted() {
+        return lastCapDeleted;
+    }
+
+    public void setLastCapDeleted(long lastCapDeleted) {
+        this.lastCapDeleted = lastCapDeleted;
+    }
+
+    public int getLastChunks() {
+        return lastChunks;
+    }
+
+    public void setLastChunks(int lastChunks) {
+        this.lastChunks = lastChunks;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public long getTotalDeleted() {
+        return totalDeleted;
+    }
+
+    public void setTotalDeleted(long totalDeleted) {
+        this.totalDeleted = totalDeleted;
+    }
+}
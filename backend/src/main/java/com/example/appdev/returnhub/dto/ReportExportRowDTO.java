@@ -0,0 +1,105 @@
+package com.example.appdev.returnhub.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Flat, read-only row of the staff report export (built by a JPQL constructor expression)
+public class ReportExportRowDTO {
+    private final int reportId;
+    private final String type;
+    private final String status;
+    private final String category;
+    private final String itemName;
+    private final String description;
+    private final String location;
+    private final LocalDate dateOfEvent;
+    private final LocalDateTime dateSubmitted;
+    private final LocalDateTime dateReviewed;
+    private final Integer submitterUserId;
+    private final String submitterName;
+    private final String submitterEmail;
+    private final Integer reviewerStaffId;
+    private final String reviewerStaffName;
+
+    public ReportExportRowDTO(int reportId, String type, String status, String category, String itemName,
+                              String description, String location, LocalDate dateOfEvent,
+                              LocalDateTime dateSubmitted, LocalDateTime dateReviewed, Integer submitterUserId,
+                              String submitterName, String submitterEmail, Integer reviewerStaffId,
+                              String reviewerStaffName) {
+        this.reportId = reportId;
+        this.type = type;
+        this.status = status;
+        this.category = category;
+        this.itemName = itemName;
+        this.description = description;
+        this.location = location;
+        this.dateOfEvent = dateOfEvent;
+        this.dateSubmitted = dateSubmitted;
+        this.dateReviewed = dateReviewed;
+        this.submitterUserId = submitterUserId;
+        this.submitterName = submitterName;
+        this.submitterEmail = submitterEmail;
+        this.reviewerStaffId = reviewerStaffId;
+        this.reviewerStaffName = reviewerStaffName;
+    }
+
+    public int getReportId() {
+        return reportId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDate getDateOfEvent() {
+        return dateOfEvent;
+    }
+
+    public LocalDateTime getDateSubmitted() {
+        return dateSubmitted;
+    }
+
+    public LocalDateTime getDateReviewed() {
+        return dateReviewed;
+    }
+
+    public Integer getSubmitterUserId() {
+        return submitterUserId;
+    }
+
+    public String getSubmitterName() {
+        return submitterName;
+    }
+
+    public String getSubmitterEmail() {
+        return submitterEmail;
+    }
+
+    public Integer getReviewerStaffId() {
+        return reviewerStaffId;
+    }
+
+    public String getReviewerStaffName() {
+        return reviewerStaffName;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.appdev.returnhub.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Payload on /topic/conversation/{id}/typing; only sent when a participant starts or stops typing
+public class TypingIndicatorDTO {
+    private final String type = "TYPING";
+    private final int conversationId;
+    private final int userId;
+    private final String userType;
+    private final String userName;
+    private final boolean isTyping;
+    private final long timestamp;
+
+    public TypingIndicatorDTO(int conversationId, int userId, String userType, String userName,
+                              boolean isTyping, long timestamp) {
+        this.conversationId = conversationId;
+        this.userId = userId;
+        this.userType = userType;
+        this.userName = userName;
+        this.isTyping = isTyping;
+        this.timestamp = timestamp;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getConversationId() {
+        return conversationId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getUserType() {
+        return userType;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    // Keeps the wire name clients already read
+    @JsonProperty("isTyping")
+    public boolean isTyping() {
+        return isTyping;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
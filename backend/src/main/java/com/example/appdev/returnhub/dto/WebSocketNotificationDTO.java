@@ -10,6 +10,10 @@ public class WebSocketNotificationDTO {
     private String relatedType;
     private LocalDateTime createdAt;
     private boolean isRead;
+    private int count = 1;
+    private LocalDateTime lastActivityAt;
+    // Only set on UNREAD_COUNT events
+    private Long unreadCount;
 
     public WebSocketNotificationDTO() {}
 
@@ -68,4 +72,28 @@ public class WebSocketNotificationDTO {
     public void setRead(boolean read) {
         isRead = read;
     }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public Long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(Long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(LocalDateTime lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
 }
@@ -4,7 +4,11 @@
     import java.time.LocalDateTime;
     
     @Entity
-    @Table(name = "claims")
+    @Table(name = "claims", indexes = {
+            @Index(name = "idx_claim_status_submitted", columnList = "status, date_submitted, claim_id"),
+            @Index(name = "idx_claim_lost_item_submitted", columnList = "lost_item_id, date_submitted, claim_id"),
+            @Index(name = "idx_claim_found_item_submitted", columnList = "found_item_id, date_submitted, claim_id")
+    })
     public class Claim {
         
         @Id
@@ -21,6 +25,11 @@
         @Column(name = "date_submitted", nullable = false)
         private LocalDateTime dateSubmitted;
 
+        // Optimistic lock; bulk status updates bump it by hand
+        @Version
+        @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+        private long version;
+
         // Relationships
     
         @ManyToOne(fetch = FetchType.LAZY)
@@ -108,6 +117,10 @@
     
     
     
+        public long getVersion() {
+            return version;
+        }
+
         public String getStatus() {
             return status;
         }
@@ -1,6 +1,7 @@
 package com.example.appdev.returnhub.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,6 +14,22 @@ public class Conversation{
     @Column(name = "conversation_id")
     private int conversationId;
 
+    // Denormalized pointer to the latest message, maintained on send so the
+    // inbox can show it without scanning the messages table
+    @Column(name = "last_message_id")
+    private Integer lastMessageId;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    // Denormalized unread counters per side, bumped on send and zeroed on read.
+    // Only changed through the bulk updates in ConversationRepository.
+    @Column(name = "user_unread_count", nullable = false)
+    private int userUnreadCount = 0;
+
+    @Column(name = "staff_unread_count", nullable = false)
+    private int staffUnreadCount = 0;
+
     // Relationships
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -63,10 +80,42 @@ public class Conversation{
 
 
 
+    public Integer getLastMessageId() {
+        return lastMessageId;
+    }
+    public void setLastMessageId(Integer lastMessageId) {
+        this.lastMessageId = lastMessageId;
+    }
+
+
+
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+    public void setLastMessageAt(LocalDateTime lastMessageAt) {
+        this.lastMessageAt = lastMessageAt;
+    }
+
+
+
     public List<Message> getMessages() {
         return messages;
     }
     public void setMessages(List<Message> messages) {
         this.messages = messages;
     }
-}
\ No newline at end of file
+
+    public int getUserUnreadCount() {
+        return userUnreadCount;
+    }
+    public void setUserUnreadCount(int userUnreadCount) {
+        this.userUnreadCount = userUnreadCount;
+    }
+
+    public int getStaffUnreadCount() {
+        return staffUnreadCount;
+    }
+    public void setStaffUnreadCount(int staffUnreadCount) {
+        this.staffUnreadCount = staffUnreadCount;
+    }
+}
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "lostitems")
+@Table(name = "lostitems", indexes = {
+        @Index(name = "idx_lostitem_status_created", columnList = "status, created_at, item_id")
+})
 public class LostItem{
 
     @Id
@@ -18,6 +20,11 @@ public class LostItem{
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Optimistic lock; bulk status updates bump it by hand
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     // Relationships
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -50,6 +57,10 @@ public class LostItem{
 
 
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getStatus() {
         return status;
     }
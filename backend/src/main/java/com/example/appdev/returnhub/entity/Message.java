@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_message_conversation_created", columnList = "conversation_id, created_at, message_id")
+})
 public class Message{
 
     @Id
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notification_user_created", columnList = "user_id, created_at, notification_id")
+})
 public class Notification {
 
     @Id
@@ -21,6 +23,21 @@ public class Notification {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // What the notification points at (REPORT / CLAIM / MESSAGE / SYSTEM and its id)
+    @Column(name = "type", length = 20)
+    private String type;
+
+    @Column(name = "related_id")
+    private Integer relatedId;
+
+    // Number of events folded into this row (message notifications are coalesced per conversation)
+    @Column(name = "event_count", nullable = false, columnDefinition = "int default 1")
+    private int eventCount = 1;
+
+    // Time of the latest folded event; created_at stays fixed because the feed pages on it
+    @Column(name = "last_activity_at")
+    private LocalDateTime lastActivityAt;
+
     // Relationships
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -75,6 +92,42 @@ public class Notification {
 
 
 
+    public String getType() {
+        return type;
+    }
+    public void setType(String type) {
+        this.type = type;
+    }
+
+
+
+    public Integer getRelatedId() {
+        return relatedId;
+    }
+    public void setRelatedId(Integer relatedId) {
+        this.relatedId = relatedId;
+    }
+
+
+
+    public int getEventCount() {
+        return eventCount;
+    }
+    public void setEventCount(int eventCount) {
+        this.eventCount = eventCount;
+    }
+
+
+
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+    public void setLastActivityAt(LocalDateTime lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+
+
     public User getUser() {
         return user;
     }
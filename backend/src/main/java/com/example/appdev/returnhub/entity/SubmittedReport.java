@@ -5,7 +5,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "submittedreport")
+@Table(name = "submittedreport", indexes = {
+        @Index(name = "idx_report_submitted", columnList = "date_submitted, report_id"),
+        @Index(name = "idx_report_status_submitted", columnList = "status, date_submitted, report_id"),
+        @Index(name = "idx_report_type_submitted", columnList = "type, date_submitted, report_id")
+})
 public class SubmittedReport {
 
     @Id
@@ -1,24 +1,120 @@
 package com.example.appdev.returnhub.repositor;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.appdev.returnhub.dto.ClaimDetailDTO;
+import com.example.appdev.returnhub.dto.ClaimExportRowDTO;
 import com.example.appdev.returnhub.entity.Claim;
+import com.example.appdev.returnhub.entity.Staff;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClaimRepository extends JpaRepository<Claim, Integer> {
+    // Claim with item report, claimant and verifying staff in one SELECT (exactly one of
+    // lr/fr is present, so the COALESCEs pick the claimed item's report)
+    String CLAIM_DETAIL_SELECT = "SELECT new com.example.appdev.returnhub.dto.ClaimDetailDTO(" +
+            "c.claimId, c.status, c.dateSubmitted, c.proofDocumentUrl, li.itemId, fi.itemId, " +
+            "CASE WHEN li.itemId IS NOT NULL THEN 'lost' WHEN fi.itemId IS NOT NULL THEN 'found' END, " +
+            "COALESCE(lr.itemName, fr.itemName), COALESCE(lr.category, fr.category), " +
+            "COALESCE(lr.description, fr.description), COALESCE(lr.location, fr.location), " +
+            "COALESCE(lr.photoUrl1, lr.photoUrl2, lr.photoUrl3, fr.photoUrl1, fr.photoUrl2, fr.photoUrl3), " +
+            "COALESCE(lr.dateOfEvent, fr.dateOfEvent), " +
+            "u.userId, u.name, u.email, u.phone, s.staffId, s.name) " +
+            "FROM Claim c " +
+            "LEFT JOIN c.lostItem li LEFT JOIN li.submittedReport lr " +
+            "LEFT JOIN c.foundItem fi LEFT JOIN fi.submittedReport fr " +
+            "LEFT JOIN c.claimantUser u LEFT JOIN c.verifiedByStaff s ";
+
     List<Claim> findByStatus(String status);
 
+    // Claim counts per status for dashboard statistics
+    @Query("SELECT c.status, COUNT(c) FROM Claim c GROUP BY c.status")
+    List<Object[]> countGroupedByStatus();
+
     @Query("SELECT c FROM Claim c WHERE c.claimantUser.userId = :userId")
     List<Claim> findByClaimantUser_UserId(@Param("userId") int userId);
 
-    @Query("SELECT c FROM Claim c WHERE c.lostItem.itemId = :itemId")
+    // Claims on one item, claimant and verifying staff fetched in the same SELECT.
+    // Lost and found item ids overlap, so callers must pick the side explicitly.
+    @Query("SELECT c FROM Claim c JOIN FETCH c.claimantUser LEFT JOIN FETCH c.verifiedByStaff " +
+            "WHERE c.lostItem.itemId = :itemId ORDER BY c.dateSubmitted DESC, c.claimId DESC")
     List<Claim> findByLostItem_ItemId(@Param("itemId") int itemId);
 
-    @Query("SELECT c FROM Claim c WHERE c.foundItem.itemId = :itemId")
+    @Query("SELECT c FROM Claim c JOIN FETCH c.claimantUser LEFT JOIN FETCH c.verifiedByStaff " +
+            "WHERE c.foundItem.itemId = :itemId ORDER BY c.dateSubmitted DESC, c.claimId DESC")
     List<Claim> findByFoundItem_ItemId(@Param("itemId") int itemId);
-}
\ No newline at end of file
+
+    // Other pending claims on the same item, locked (SELECT ... FOR UPDATE) so none of them
+    // can be decided elsewhere between this read and the bulk rejection that follows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Claim c " +
+            "WHERE c.lostItem.itemId = :itemId AND c.status = 'pending' AND c.claimId <> :claimId")
+    List<Claim> findPendingSiblingsOfLostItem(@Param("itemId") int itemId, @Param("claimId") int claimId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Claim c " +
+            "WHERE c.foundItem.itemId = :itemId AND c.status = 'pending' AND c.claimId <> :claimId")
+    List<Claim> findPendingSiblingsOfFoundItem(@Param("itemId") int itemId, @Param("claimId") int claimId);
+
+    // Rejects the given claims if they are still pending; bumps the @Version by hand
+    @Modifying
+    @Query("UPDATE Claim c SET c.status = 'rejected', c.verifiedByStaff = :staff, c.version = c.version + 1 " +
+            "WHERE c.claimId IN :claimIds AND c.status = 'pending'")
+    int rejectPending(@Param("claimIds") List<Integer> claimIds, @Param("staff") Staff staff);
+
+    // Export: flat rows streamed row by row (MySQL streams for fetch size Integer.MIN_VALUE);
+    // consume inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.appdev.returnhub.dto.ClaimExportRowDTO(" +
+            "c.claimId, c.status, c.dateSubmitted, " +
+            "CASE WHEN li.itemId IS NOT NULL THEN 'lost' WHEN fi.itemId IS NOT NULL THEN 'found' END, " +
+            "COALESCE(li.itemId, fi.itemId), COALESCE(lr.reportId, fr.reportId), " +
+            "COALESCE(lr.itemName, fr.itemName), COALESCE(lr.category, fr.category), " +
+            "COALESCE(lr.location, fr.location), COALESCE(lr.dateOfEvent, fr.dateOfEvent), " +
+            "u.userId, u.name, u.email, s.staffId, s.name, c.proofDocumentUrl) " +
+            "FROM Claim c " +
+            "LEFT JOIN c.lostItem li LEFT JOIN li.submittedReport lr " +
+            "LEFT JOIN c.foundItem fi LEFT JOIN fi.submittedReport fr " +
+            "LEFT JOIN c.claimantUser u LEFT JOIN c.verifiedByStaff s " +
+            "WHERE (:status IS NULL OR c.status = :status) " +
+            "ORDER BY c.claimId")
+    Stream<ClaimExportRowDTO> streamForExport(@Param("status") String status);
+
+    // Staff claims board, newest first; status is optional (null = all)
+    @Query(CLAIM_DETAIL_SELECT +
+            "WHERE (:status IS NULL OR c.status = :status) " +
+            "ORDER BY c.dateSubmitted DESC, c.claimId DESC")
+    List<ClaimDetailDTO> findDetails(@Param("status") String status);
+
+    // Keyset pagination over the same projection; the ORDER BY matches the
+    // (status, date_submitted, claim_id) index
+    @Query(CLAIM_DETAIL_SELECT +
+            "WHERE (:status IS NULL OR c.status = :status) " +
+            "ORDER BY c.dateSubmitted DESC, c.claimId DESC")
+    List<ClaimDetailDTO> findDetailsFirstPage(@Param("status") String status, Pageable pageable);
+
+    @Query(CLAIM_DETAIL_SELECT +
+            "WHERE (:status IS NULL OR c.status = :status) " +
+            "AND (c.dateSubmitted < :cursorDate OR (c.dateSubmitted = :cursorDate AND c.claimId < :cursorId)) " +
+            "ORDER BY c.dateSubmitted DESC, c.claimId DESC")
+    List<ClaimDetailDTO> findDetailsPageAfter(@Param("status") String status,
+                                              @Param("cursorDate") LocalDateTime cursorDate,
+                                              @Param("cursorId") int cursorId,
+                                              Pageable pageable);
+}
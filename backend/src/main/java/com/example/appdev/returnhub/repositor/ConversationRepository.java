@@ -1,12 +1,16 @@
 package com.example.appdev.returnhub.repositor;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.appdev.returnhub.dto.ConversationDTO;
 import com.example.appdev.returnhub.entity.Conversation;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +32,116 @@ public interface ConversationRepository extends JpaRepository<Conversation, Inte
     // Find conversation with eager loading?
     @Query("SELECT c FROM Conversation c JOIN FETCH c.user JOIN FETCH c.staff WHERE c.conversationId = :conversationId")
     Optional<Conversation> findByIdWithUsers(@Param("conversationId") int conversationId);
+
+    // Inbox rows: both participants, the latest message (via last_message_id) and the
+    // reader's unread counter in a single round trip
+    @Query("SELECT new com.example.appdev.returnhub.dto.ConversationDTO(" +
+            "c.conversationId, u.userId, u.name, u.profileImage, s.staffId, s.name, s.profileImage, m.content, m.createdAt, " +
+            "c.userUnreadCount) " +
+            "FROM Conversation c JOIN c.user u JOIN c.staff s LEFT JOIN Message m ON m.messageId = c.lastMessageId " +
+            "WHERE u.userId = :userId ORDER BY c.conversationId DESC")
+    List<ConversationDTO> findUserInbox(@Param("userId") int userId);
+
+    @Query("SELECT new com.example.appdev.returnhub.dto.ConversationDTO(" +
+            "c.conversationId, u.userId, u.name, u.profileImage, s.staffId, s.name, s.profileImage, m.content, m.createdAt, " +
+            "c.staffUnreadCount) " +
+            "FROM Conversation c JOIN c.user u JOIN c.staff s LEFT JOIN Message m ON m.messageId = c.lastMessageId " +
+            "WHERE s.staffId = :staffId ORDER BY c.conversationId DESC")
+    List<ConversationDTO> findStaffInbox(@Param("staffId") int staffId);
+
+    // Participants as [userId, staffId]; they never change once the conversation exists
+    @Query("SELECT c.user.userId, c.staff.staffId FROM Conversation c WHERE c.conversationId = :conversationId")
+    List<Object[]> findParticipants(@Param("conversationId") int conversationId);
+
+    // The user's threads as [conversationId, staffId], newest first
+    @Query("SELECT c.conversationId, c.staff.staffId FROM Conversation c " +
+            "WHERE c.user.userId = :userId ORDER BY c.conversationId DESC")
+    List<Object[]> findStaffThreadsOfUser(@Param("userId") int userId);
+
+    // Single conversation in inbox form (unread count from the user's side)
+    @Query("SELECT new com.example.appdev.returnhub.dto.ConversationDTO(" +
+            "c.conversationId, u.userId, u.name, u.profileImage, s.staffId, s.name, s.profileImage, m.content, m.createdAt, " +
+            "c.userUnreadCount) " +
+            "FROM Conversation c JOIN c.user u JOIN c.staff s LEFT JOIN Message m ON m.messageId = c.lastMessageId " +
+            "WHERE c.conversationId = :conversationId")
+    Optional<ConversationDTO> findInboxEntry(@Param("conversationId") int conversationId);
+
+    // ==================== LAST MESSAGE / UNREAD COUNTERS ====================
+
+    // Records a new message: advances the last-message pointer (never backwards, in case an
+    // older send commits later) and bumps the recipient's unread counter in one row update.
+    // lastMessageAt is assigned first because MySQL applies SET assignments left to right.
+    @Modifying
+    @Query("UPDATE Conversation c SET " +
+            "c.lastMessageAt = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId " +
+            "THEN :sentAt ELSE c.lastMessageAt END, " +
+            "c.lastMessageId = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId " +
+            "THEN :messageId ELSE c.lastMessageId END, " +
+            "c.staffUnreadCount = c.staffUnreadCount + 1 " +
+            "WHERE c.conversationId = :conversationId")
+    int recordMessageFromUser(@Param("conversationId") int conversationId, @Param("messageId") int messageId,
+                              @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET " +
+            "c.lastMessageAt = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId " +
+            "THEN :sentAt ELSE c.lastMessageAt END, " +
+            "c.lastMessageId = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId " +
+            "THEN :messageId ELSE c.lastMessageId END, " +
+            "c.userUnreadCount = c.userUnreadCount + 1 " +
+            "WHERE c.conversationId = :conversationId")
+    int recordMessageFromStaff(@Param("conversationId") int conversationId, @Param("messageId") int messageId,
+                               @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.userUnreadCount = 0 WHERE c.conversationId = :conversationId")
+    int resetUserUnreadCount(@Param("conversationId") int conversationId);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.staffUnreadCount = 0 WHERE c.conversationId = :conversationId")
+    int resetStaffUnreadCount(@Param("conversationId") int conversationId);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.userUnreadCount = " +
+            "CASE WHEN c.userUnreadCount > 0 THEN c.userUnreadCount - 1 ELSE 0 END " +
+            "WHERE c.conversationId = :conversationId")
+    int decrementUserUnreadCount(@Param("conversationId") int conversationId);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.staffUnreadCount = " +
+            "CASE WHEN c.staffUnreadCount > 0 THEN c.staffUnreadCount - 1 ELSE 0 END " +
+            "WHERE c.conversationId = :conversationId")
+    int decrementStaffUnreadCount(@Param("conversationId") int conversationId);
+
+    @Query("SELECT c.userUnreadCount FROM Conversation c WHERE c.conversationId = :conversationId")
+    Optional<Integer> findUserUnreadCount(@Param("conversationId") int conversationId);
+
+    @Query("SELECT c.staffUnreadCount FROM Conversation c WHERE c.conversationId = :conversationId")
+    Optional<Integer> findStaffUnreadCount(@Param("conversationId") int conversationId);
+
+    @Query("SELECT COALESCE(MAX(c.conversationId), 0) FROM Conversation c")
+    int findMaxConversationId();
+
+    // Recomputes both counters from the messages table for one id range; used by the
+    // reconciliation job to heal drift, one chunk per transaction
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE conversations c SET " +
+            "c.user_unread_count = (SELECT COUNT(*) FROM messages m WHERE m.conversation_id = c.conversation_id " +
+            "AND m.is_read = false AND m.sender_staff_id IS NOT NULL), " +
+            "c.staff_unread_count = (SELECT COUNT(*) FROM messages m WHERE m.conversation_id = c.conversation_id " +
+            "AND m.is_read = false AND m.sender_user_id IS NOT NULL) " +
+            "WHERE c.conversation_id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int reconcileUnreadCounts(@Param("fromId") int fromId, @Param("toId") int toId);
+
+    // Fills last_message_id / last_message_at for conversations created before the columns existed
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE conversations c " +
+            "JOIN (SELECT conversation_id, MAX(message_id) AS last_id FROM messages GROUP BY conversation_id) lm " +
+            "ON lm.conversation_id = c.conversation_id " +
+            "JOIN messages m ON m.message_id = lm.last_id " +
+            "SET c.last_message_id = m.message_id, c.last_message_at = m.created_at " +
+            "WHERE c.last_message_id IS NULL", nativeQuery = true)
+    int backfillLastMessage();
 }
\ No newline at end of file
@@ -1,18 +1,76 @@
 package com.example.appdev.returnhub.repositor;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.example.appdev.returnhub.dto.ItemExportRowDTO;
 import com.example.appdev.returnhub.entity.FoundItem;
+import jakarta.persistence.QueryHint;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FoundItemRepository extends JpaRepository<FoundItem, Integer> {
-    List<FoundItem> findByStatus(String active);
+    // Item counts per status for dashboard statistics
+    @Query("SELECT f.status, COUNT(f) FROM FoundItem f GROUP BY f.status")
+    List<Object[]> countGroupedByStatus();
 
     @Query("SELECT f FROM FoundItem f WHERE f.submittedReport.reportId = :reportId")
     FoundItem findBySubmittedReport_ReportId(@Param("reportId") int reportId);
+
+    // Active items with their report and submitter in one statement (seeds the item index)
+    @Query("SELECT f FROM FoundItem f JOIN FETCH f.submittedReport r JOIN FETCH r.submitterUser WHERE f.status = 'active'")
+    List<FoundItem> findActiveWithReport();
+
+    // Atomic status transition: only applies while the item is still in fromStatus, so of
+    // two concurrent transitions exactly one sees 1 row. Bumps the @Version by hand.
+    @Modifying
+    @Query("UPDATE FoundItem f SET f.status = :toStatus, f.version = f.version + 1 " +
+            "WHERE f.itemId = :itemId AND f.status = :fromStatus")
+    int transitionStatus(@Param("itemId") int itemId,
+                         @Param("fromStatus") String fromStatus,
+                         @Param("toStatus") String toStatus);
+
+    // Listings with the posting staff and the report fetched in the same SELECT, so
+    // mapping to the response DTO triggers no lazy loads. The ORDER BY matches the
+    // (status, created_at, item_id) index.
+    @Query("SELECT f FROM FoundItem f JOIN FETCH f.postedByStaff JOIN FETCH f.submittedReport " +
+            "WHERE f.status = :status ORDER BY f.createdAt DESC, f.itemId DESC")
+    List<FoundItem> findByStatusWithDetails(@Param("status") String status);
+
+    // Keyset pagination, newest first
+    @Query("SELECT f FROM FoundItem f JOIN FETCH f.postedByStaff JOIN FETCH f.submittedReport " +
+            "WHERE f.status = :status ORDER BY f.createdAt DESC, f.itemId DESC")
+    List<FoundItem> findFirstPage(@Param("status") String status, Pageable pageable);
+
+    @Query("SELECT f FROM FoundItem f JOIN FETCH f.postedByStaff JOIN FETCH f.submittedReport " +
+            "WHERE f.status = :status " +
+            "AND (f.createdAt < :cursorDate OR (f.createdAt = :cursorDate AND f.itemId < :cursorId)) " +
+            "ORDER BY f.createdAt DESC, f.itemId DESC")
+    List<FoundItem> findPageAfter(@Param("status") String status,
+                                  @Param("cursorDate") LocalDateTime cursorDate,
+                                  @Param("cursorId") int cursorId,
+                                  Pageable pageable);
+
+    // Export: flat rows streamed row by row (MySQL streams for fetch size Integer.MIN_VALUE);
+    // consume inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.appdev.returnhub.dto.ItemExportRowDTO(" +
+            "'found', f.itemId, f.status, f.createdAt, r.reportId, r.itemName, r.category, r.location, " +
+            "r.dateOfEvent, s.staffId, s.name) " +
+            "FROM FoundItem f JOIN f.submittedReport r LEFT JOIN f.postedByStaff s " +
+            "WHERE (:status IS NULL OR f.status = :status) " +
+            "ORDER BY f.itemId")
+    Stream<ItemExportRowDTO> streamForExport(@Param("status") String status);
 }
@@ -1,18 +1,76 @@
 package com.example.appdev.returnhub.repositor;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.example.appdev.returnhub.dto.ItemExportRowDTO;
 import com.example.appdev.returnhub.entity.LostItem;
+import jakarta.persistence.QueryHint;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LostItemRepository extends JpaRepository<LostItem, Integer> {
-    List<LostItem> findByStatus(String active);
+    // Item counts per status for dashboard statistics
+    @Query("SELECT l.status, COUNT(l) FROM LostItem l GROUP BY l.status")
+    List<Object[]> countGroupedByStatus();
 
     @Query("SELECT l FROM LostItem l WHERE l.submittedReport.reportId = :reportId")
     LostItem findBySubmittedReport_ReportId(@Param("reportId") int reportId);
+
+    // Active items with their report and submitter in one statement (seeds the item index)
+    @Query("SELECT l FROM LostItem l JOIN FETCH l.submittedReport r JOIN FETCH r.submitterUser WHERE l.status = 'active'")
+    List<LostItem> findActiveWithReport();
+
+    // Atomic status transition: only applies while the item is still in fromStatus, so of
+    // two concurrent transitions exactly one sees 1 row. Bumps the @Version by hand.
+    @Modifying
+    @Query("UPDATE LostItem l SET l.status = :toStatus, l.version = l.version + 1 " +
+            "WHERE l.itemId = :itemId AND l.status = :fromStatus")
+    int transitionStatus(@Param("itemId") int itemId,
+                         @Param("fromStatus") String fromStatus,
+                         @Param("toStatus") String toStatus);
+
+    // Listings with the posting staff and the report fetched in the same SELECT, so
+    // mapping to the response DTO triggers no lazy loads. The ORDER BY matches the
+    // (status, created_at, item_id) index.
+    @Query("SELECT l FROM LostItem l JOIN FETCH l.postedByStaff JOIN FETCH l.submittedReport " +
+            "WHERE l.status = :status ORDER BY l.createdAt DESC, l.itemId DESC")
+    List<LostItem> findByStatusWithDetails(@Param("status") String status);
+
+    // Keyset pagination, newest first
+    @Query("SELECT l FROM LostItem l JOIN FETCH l.postedByStaff JOIN FETCH l.submittedReport " +
+            "WHERE l.status = :status ORDER BY l.createdAt DESC, l.itemId DESC")
+    List<LostItem> findFirstPage(@Param("status") String status, Pageable pageable);
+
+    @Query("SELECT l FROM LostItem l JOIN FETCH l.postedByStaff JOIN FETCH l.submittedReport " +
+            "WHERE l.status = :status " +
+            "AND (l.createdAt < :cursorDate OR (l.createdAt = :cursorDate AND l.itemId < :cursorId)) " +
+            "ORDER BY l.createdAt DESC, l.itemId DESC")
+    List<LostItem> findPageAfter(@Param("status") String status,
+                                  @Param("cursorDate") LocalDateTime cursorDate,
+                                  @Param("cursorId") int cursorId,
+                                  Pageable pageable);
+
+    // Export: flat rows streamed row by row (MySQL streams for fetch size Integer.MIN_VALUE);
+    // consume inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.appdev.returnhub.dto.ItemExportRowDTO(" +
+            "'lost', l.itemId, l.status, l.createdAt, r.reportId, r.itemName, r.category, r.location, " +
+            "r.dateOfEvent, s.staffId, s.name) " +
+            "FROM LostItem l JOIN l.submittedReport r LEFT JOIN l.postedByStaff s " +
+            "WHERE (:status IS NULL OR l.status = :status) " +
+            "ORDER BY l.itemId")
+    Stream<ItemExportRowDTO> streamForExport(@Param("status") String status);
 }
@@ -9,26 +9,41 @@ import org.springframework.stereotype.Repository;
 import com.example.appdev.returnhub.entity.Message;
 
 import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Integer> {
 
-    // Find messages by conversation ID, ordered by creation time
-    List<Message> findByConversation_ConversationIdOrderByCreatedAtAsc(int conversationId);
-
-    // Find recent messages with limit (Pageable)
-    List<Message> findByConversation_ConversationIdOrderByCreatedAtDesc(int conversationId, Pageable pageable);
-
-    // Find last message in conversation
-    @Query("SELECT m FROM Message m WHERE m.conversation.conversationId = :conversationId ORDER BY m.createdAt DESC")
-    List<Message> findTop1ByConversation_ConversationIdOrderByCreatedAtDesc(@Param("conversationId") int conversationId);
-
-    // Count unread messages for a user in a conversation
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.conversation.conversationId = :conversationId " +
-            "AND ((:isUser = true AND m.senderStaff IS NOT NULL AND m.isRead = false) OR " +
-            "(:isUser = false AND m.senderUser IS NOT NULL AND m.isRead = false))")
-    long countUnreadMessages(@Param("conversationId") int conversationId, @Param("isUser") boolean isUser);
+    // Full history of a conversation, oldest first, with both senders in the same statement
+    @Query("SELECT m FROM Message m LEFT JOIN FETCH m.senderUser LEFT JOIN FETCH m.senderStaff " +
+            "WHERE m.conversation.conversationId = :conversationId ORDER BY m.createdAt ASC, m.messageId ASC")
+    List<Message> findHistory(@Param("conversationId") int conversationId);
+
+    // Keyset windows on (created_at, message_id), served by idx_message_conversation_created.
+    // Latest and "before" read newest first; "after" reads oldest first.
+    @Query("SELECT m FROM Message m LEFT JOIN FETCH m.senderUser LEFT JOIN FETCH m.senderStaff " +
+            "WHERE m.conversation.conversationId = :conversationId ORDER BY m.createdAt DESC, m.messageId DESC")
+    List<Message> findLatest(@Param("conversationId") int conversationId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m LEFT JOIN FETCH m.senderUser LEFT JOIN FETCH m.senderStaff " +
+            "WHERE m.conversation.conversationId = :conversationId " +
+            "AND (m.createdAt < :cursorDate OR (m.createdAt = :cursorDate AND m.messageId < :cursorId)) " +
+            "ORDER BY m.createdAt DESC, m.messageId DESC")
+    List<Message> findBefore(@Param("conversationId") int conversationId,
+                             @Param("cursorDate") LocalDateTime cursorDate,
+                             @Param("cursorId") int cursorId,
+                             Pageable pageable);
+
+    @Query("SELECT m FROM Message m LEFT JOIN FETCH m.senderUser LEFT JOIN FETCH m.senderStaff " +
+            "WHERE m.conversation.conversationId = :conversationId " +
+            "AND (m.createdAt > :cursorDate OR (m.createdAt = :cursorDate AND m.messageId > :cursorId)) " +
+            "ORDER BY m.createdAt ASC, m.messageId ASC")
+    List<Message> findAfter(@Param("conversationId") int conversationId,
+                            @Param("cursorDate") LocalDateTime cursorDate,
+                            @Param("cursorId") int cursorId,
+                            Pageable pageable);
 
     // Marks messages as read
     @Modifying
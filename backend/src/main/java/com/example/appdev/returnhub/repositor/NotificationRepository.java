@@ -1,12 +1,18 @@
 package com.example.appdev.returnhub.repositor;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.appdev.returnhub.dto.NotificationDTO;
 import com.example.appdev.returnhub.entity.Notification;
 
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,16 +20,65 @@ public interface NotificationRepository extends JpaRepository<Notification, Inte
     // Find all notifications for a user, newest first
     List<Notification> findByUser_UserIdOrderByCreatedAtDesc(int userId);
 
-    // Find unread notifications for a user
-    List<Notification> findByUser_UserIdAndIsReadFalse(int userId);
-
-    // // Find all notifications for a user
-    List<Notification> findByUser_UserId(int userId);
-
     // Count unread notifications
     long countByUser_UserIdAndIsReadFalse(int userId);
 
-    // Custom query for recent notifications with limit
-    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId ORDER BY n.createdAt DESC")
-    List<Notification> findTopNByUser_UserIdOrderByCreatedAtDesc(@Param("userId") int userId, @Param("limit") int limit);
-}
\ No newline at end of file
+    // Notification feed, newest first, keyset on (created_at, notification_id). created_at
+    // never changes after insert (coalescing moves last_activity_at), so pages stay stable.
+    // Both are range scans on idx_notification_user_created and never touch users.
+    @Query("SELECT new com.example.appdev.returnhub.dto.NotificationDTO(" +
+            "n.notificationId, n.user.userId, n.message, n.isRead, n.createdAt, n.type, n.relatedId, n.eventCount, " +
+            "COALESCE(n.lastActivityAt, n.createdAt)) " +
+            "FROM Notification n WHERE n.user.userId = :userId " +
+            "ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<NotificationDTO> findFeedFirstPage(@Param("userId") int userId, Pageable pageable);
+
+    @Query("SELECT new com.example.appdev.returnhub.dto.NotificationDTO(" +
+            "n.notificationId, n.user.userId, n.message, n.isRead, n.createdAt, n.type, n.relatedId, n.eventCount, " +
+            "COALESCE(n.lastActivityAt, n.createdAt)) " +
+            "FROM Notification n WHERE n.user.userId = :userId " +
+            "AND (n.createdAt < :cursorDate OR (n.createdAt = :cursorDate AND n.notificationId < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<NotificationDTO> findFeedPageAfter(@Param("userId") int userId,
+                                            @Param("cursorDate") LocalDateTime cursorDate,
+                                            @Param("cursorId") int cursorId,
+                                            Pageable pageable);
+
+    // Single-statement bulk operations; both return the number of affected rows
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.userId = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") int userId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.userId = :userId")
+    int deleteAllByUserId(@Param("userId") int userId);
+
+    // ==================== RETENTION ====================
+    // Chunked deletes for NotificationRetentionService; each call commits on its own.
+    // Unread notifications are never removed.
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM notifications WHERE is_read = true AND created_at < :cutoff " +
+            "ORDER BY notification_id LIMIT :chunkSize", nativeQuery = true)
+    int deleteReadOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("chunkSize") int chunkSize);
+
+    // Users holding more than the per-user cap
+    @Query("SELECT n.user.userId FROM Notification n GROUP BY n.user.userId HAVING COUNT(n) > :cap")
+    List<Integer> findUserIdsOverCap(@Param("cap") long cap);
+
+    // The newest row that falls outside the cap (use PageRequest.of(cap, 1)); returns [createdAt, notificationId]
+    @Query("SELECT n.createdAt, n.notificationId FROM Notification n WHERE n.user.userId = :userId " +
+            "ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Object[]> findCapBoundary(@Param("userId") int userId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM notifications WHERE user_id = :userId AND is_read = true " +
+            "AND (created_at < :boundaryDate OR (created_at = :boundaryDate AND notification_id <= :boundaryId)) " +
+            "LIMIT :chunkSize", nativeQuery = true)
+    int deleteReadAtOrBefore(@Param("userId") int userId,
+                             @Param("boundaryDate") LocalDateTime boundaryDate,
+                             @Param("boundaryId") int boundaryId,
+                             @Param("chunkSize") int chunkSize);
+}
@@ -1,17 +1,26 @@
 package com.example.appdev.returnhub.repositor;
 
+import com.example.appdev.returnhub.dto.ReportExportRowDTO;
 import com.example.appdev.returnhub.entity.SubmittedReport;
 import com.example.appdev.returnhub.entity.User;
 import com.example.appdev.returnhub.entity.Staff;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SubmittedReportRepository extends JpaRepository<SubmittedReport, Integer> {
@@ -22,6 +31,7 @@ public interface SubmittedReportRepository extends JpaRepository<SubmittedReport
     List<SubmittedReport> findByReviewerStaff(Staff reviewerStaff);
 
     // Find reports by status
+    @EntityGraph(attributePaths = {"submitterUser", "reviewerStaff"})
     List<SubmittedReport> findByStatus(String status);
 
     // Find reports by type (lost/found)
@@ -31,10 +41,12 @@ public interface SubmittedReportRepository extends JpaRepository<SubmittedReport
     List<SubmittedReport> findByStatusAndType(String status, String type);
 
     // Find pending reports (not reviewed yet)
+    @EntityGraph(attributePaths = {"submitterUser", "reviewerStaff"})
     @Query("SELECT r FROM SubmittedReport r WHERE r.status = 'pending' OR r.status = 'submitted'")
     List<SubmittedReport> findPendingReports();
 
     // Find reports by user ID
+    @EntityGraph(attributePaths = {"submitterUser", "reviewerStaff"})
     @Query("SELECT r FROM SubmittedReport r WHERE r.submitterUser.userId = :userId")
     List<SubmittedReport> findByUserId(@Param("userId") int userId);
 
@@ -45,6 +57,46 @@ public interface SubmittedReportRepository extends JpaRepository<SubmittedReport
     @Query("SELECT r FROM SubmittedReport r WHERE r.submitterUser.userId = :userId AND LOWER(r.type) = LOWER(:type)")
     List<SubmittedReport> findBySubmitterUser_UserIdAndType(@Param("userId") int userId, @Param("type") String type);
 
+    // Report counts per (status, type) for the staff dashboard
+    @Query("SELECT r.status, r.type, COUNT(r) FROM SubmittedReport r GROUP BY r.status, r.type")
+    List<Object[]> countGroupedByStatusAndType();
+
+    // Listing and detail variants that load submitter and reviewer in the same
+    // SELECT, so mapping to SubmittedReportResponseDTO triggers no lazy loads
+    @EntityGraph(attributePaths = {"submitterUser", "reviewerStaff"})
+    @Query("SELECT r FROM SubmittedReport r")
+    List<SubmittedReport> findAllWithParticipants();
+
+    @EntityGraph(attributePaths = {"submitterUser", "reviewerStaff"})
+    Optional<SubmittedReport> findWithParticipantsByReportId(int reportId);
+
+    // Keyset pagination, newest first. Filters are optional (null = no filter) and
+    // the ORDER BY matches the (status|type, date_submitted, report_id) indexes.
+    @EntityGraph(attributePaths = {"submitterUser", "reviewerStaff"})
+    @Query("SELECT r FROM SubmittedReport r " +
+            "WHERE (:status IS NULL OR r.status = :status) " +
+            "AND (:type IS NULL OR r.type = :type) " +
+            "AND (:category IS NULL OR r.category = :category) " +
+            "ORDER BY r.dateSubmitted DESC, r.reportId DESC")
+    List<SubmittedReport> findFirstPage(@Param("status") String status,
+                                        @Param("type") String type,
+                                        @Param("category") String category,
+                                        Pageable pageable);
+
+    @EntityGraph(attributePaths = {"submitterUser", "reviewerStaff"})
+    @Query("SELECT r FROM SubmittedReport r " +
+            "WHERE (:status IS NULL OR r.status = :status) " +
+            "AND (:type IS NULL OR r.type = :type) " +
+            "AND (:category IS NULL OR r.category = :category) " +
+            "AND (r.dateSubmitted < :cursorDate OR (r.dateSubmitted = :cursorDate AND r.reportId < :cursorId)) " +
+            "ORDER BY r.dateSubmitted DESC, r.reportId DESC")
+    List<SubmittedReport> findPageAfter(@Param("status") String status,
+                                        @Param("type") String type,
+                                        @Param("category") String category,
+                                        @Param("cursorDate") LocalDateTime cursorDate,
+                                        @Param("cursorId") int cursorId,
+                                        Pageable pageable);
+
     @Modifying
     @Transactional
     @Query(value = "UPDATE submittedreport SET photo_url1 = photo_url WHERE (photo_url1 IS NULL OR photo_url1 = '') AND photo_url IS NOT NULL AND photo_url <> ''", nativeQuery = true)
@@ -54,4 +106,21 @@ public interface SubmittedReportRepository extends JpaRepository<SubmittedReport
     @Transactional
     @Query(value = "UPDATE submittedreport SET photo_url = COALESCE(NULLIF(photo_url1,''), NULLIF(photo_url2,''), NULLIF(photo_url3,''), '') WHERE photo_url IS NULL OR photo_url = ''", nativeQuery = true)
     int ensurePrimaryPhotoUrlFromOthers();
+
+    // Export: flat rows streamed one at a time (fetch size Integer.MIN_VALUE is MySQL's
+    // streaming result set), so the caller can write them out as they arrive. Must be
+    // consumed (and closed) inside a read-only transaction, with no other query on the
+    // connection until the stream is closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.appdev.returnhub.dto.ReportExportRowDTO(" +
+            "r.reportId, r.type, r.status, r.category, r.itemName, r.description, r.location, " +
+            "r.dateOfEvent, r.dateSubmitted, r.dateReviewed, u.userId, u.name, u.email, s.staffId, s.name) " +
+            "FROM SubmittedReport r LEFT JOIN r.submitterUser u LEFT JOIN r.reviewerStaff s " +
+            "WHERE (:status IS NULL OR r.status = :status) " +
+            "AND (:type IS NULL OR r.type = :type) " +
+            "ORDER BY r.reportId")
+    Stream<ReportExportRowDTO> streamForExport(@Param("status") String status, @Param("type") String type);
 }
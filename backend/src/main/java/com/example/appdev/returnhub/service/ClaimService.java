@@ -1,20 +1,28 @@
 package com.example.appdev.returnhub.service;
 
+import com.example.appdev.returnhub.dto.ClaimDetailDTO;
 import com.example.appdev.returnhub.dto.ClaimRequestDTO;
 import com.example.appdev.returnhub.dto.ClaimResponseDTO;
 import com.example.appdev.returnhub.dto.ClaimStatusUpdateDTO;
+import com.example.appdev.returnhub.dto.CursorPageDTO;
 import com.example.appdev.returnhub.entity.*;
 import com.example.appdev.returnhub.repositor.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class ClaimService{
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ClaimRepository claimRepository;
     @Autowired
@@ -27,6 +35,12 @@ public class ClaimService{
     private FoundItemRepository foundItemRepository;
     @Autowired
     private NotificationService notificationService;
+    @Autowired
+    private DashboardCounterStore dashboardCounterStore;
+    @Autowired
+    private ReportMatchingService reportMatchingService;
+    @Autowired
+    private PublicListingCache publicListingCache;
 
     @Transactional
     public ClaimResponseDTO submitClaim(ClaimRequestDTO requestDTO){
@@ -44,19 +58,30 @@ public class ClaimService{
 
         if(requestDTO.getLostItemId() != null){
             LostItem lostItem = lostItemRepository.findById(requestDTO.getLostItemId()).orElseThrow(() -> new RuntimeException("Error: LostItem ID: " + requestDTO.getLostItemId() + "not found"));
+            if (!"active".equalsIgnoreCase(lostItem.getStatus())) {
+                throw new RuntimeException("Error: LostItem ID: " + requestDTO.getLostItemId() + " is no longer available to claim");
+            }
             claim.setLostItem(lostItem);
             claim.setFoundItem(null);
         }else{
             FoundItem foundItem = foundItemRepository.findById(requestDTO.getFoundItemId()).orElseThrow(() -> new RuntimeException("Error: FoundItem ID: " + requestDTO.getFoundItemId() + "not found"));
+            if (!"active".equalsIgnoreCase(foundItem.getStatus())) {
+                throw new RuntimeException("Error: FoundItem ID: " + requestDTO.getFoundItemId() + " is no longer available to claim");
+            }
             claim.setFoundItem(foundItem);
             claim.setLostItem(null);
         }
 
         Claim savedClaim = claimRepository.save(claim);
+        dashboardCounterStore.claimChanged(null, savedClaim.getStatus());
 
         return convertToDTO(savedClaim);
     }
 
+    // First decision wins: a claim can only be approved or rejected while pending, and an
+    // approval only succeeds if it moves the item from active to claimed itself (atomic
+    // conditional UPDATE). Competing pending claims on the item are then rejected in bulk.
+    // Conflicts surface as OptimisticLockingFailureException, like a stale @Version.
     @Transactional
     public ClaimResponseDTO updateStatusClaim(int claimId, ClaimStatusUpdateDTO statusUpdateDTO){
         // Find claims by ID
@@ -71,8 +96,18 @@ public class ClaimService{
         if (!"approved".equalsIgnoreCase(newStatus) && !"rejected".equalsIgnoreCase(newStatus)) {
             throw new RuntimeException("Status must be 'approved' or 'rejected'");
         }
+        if (!"pending".equalsIgnoreCase(claim.getStatus())) {
+            throw new OptimisticLockingFailureException(
+                    "Claim " + claimId + " has already been " + claim.getStatus());
+        }
+
+        // If approved, claim the item first; its row lock serialises competing approvals
+        if ("approved".equalsIgnoreCase(newStatus)) {
+            updateItemStatusToClaimed(claim);
+        }
 
-        // Update claim
+        // Update claim (version-checked on flush)
+        dashboardCounterStore.claimChanged(claim.getStatus(), newStatus.toLowerCase());
         claim.setStatus(newStatus.toLowerCase());
         claim.setVerifiedByStaff(reviewer);
 
@@ -86,9 +121,8 @@ public class ClaimService{
                 reviewer.getName()
         );
 
-        // If approved, updates the status
         if ("approved".equalsIgnoreCase(newStatus)) {
-            updateItemStatusToClaimed(claim);
+            rejectSiblingClaims(claim, reviewer);
         }
 
         return convertToDTO(updatedClaim);
@@ -97,12 +131,52 @@ public class ClaimService{
     private void updateItemStatusToClaimed(Claim claim) {
         if (claim.getLostItem() != null) {
             LostItem lostItem = claim.getLostItem();
-            lostItem.setStatus("claimed");
-            lostItemRepository.save(lostItem);
+            if (lostItemRepository.transitionStatus(lostItem.getItemId(), "active", "claimed") == 0) {
+                throw new OptimisticLockingFailureException(
+                        "Lost item " + lostItem.getItemId() + " is no longer available to claim");
+            }
+            dashboardCounterStore.lostItemChanged("active", "claimed");
+            reportMatchingService.itemStatusChanged(lostItem.getSubmittedReport(), lostItem.getItemId(),
+                    lostItem.getCreatedAt(), "claimed");
+            publicListingCache.invalidateAfterCommit("lost");
         } else if (claim.getFoundItem() != null) {
             FoundItem foundItem = claim.getFoundItem();
-            foundItem.setStatus("claimed");
-            foundItemRepository.save(foundItem);
+            if (foundItemRepository.transitionStatus(foundItem.getItemId(), "active", "claimed") == 0) {
+                throw new OptimisticLockingFailureException(
+                        "Found item " + foundItem.getItemId() + " is no longer available to claim");
+            }
+            dashboardCounterStore.foundItemChanged("active", "claimed");
+            reportMatchingService.itemStatusChanged(foundItem.getSubmittedReport(), foundItem.getItemId(),
+                    foundItem.getCreatedAt(), "claimed");
+            publicListingCache.invalidateAfterCommit("found");
+        }
+    }
+
+    // Rejects the other pending claims on the approved claim's item and tells their claimants.
+    // The siblings are read with a row lock, so every claim notified here is one this UPDATE
+    // rejected; a concurrent decision on a sibling either finishes first (and the sibling is
+    // no longer pending) or waits and then fails its own version check.
+    private void rejectSiblingClaims(Claim approved, Staff reviewer) {
+        boolean lost = approved.getLostItem() != null;
+        List<Claim> siblings = lost
+                ? claimRepository.findPendingSiblingsOfLostItem(approved.getLostItem().getItemId(), approved.getClaimId())
+                : claimRepository.findPendingSiblingsOfFoundItem(approved.getFoundItem().getItemId(), approved.getClaimId());
+        if (siblings.isEmpty()) {
+            return;
+        }
+
+        List<Integer> claimIds = siblings.stream().map(Claim::getClaimId).collect(Collectors.toList());
+        int rejected = claimRepository.rejectPending(claimIds, reviewer);
+        dashboardCounterStore.claimsChanged("pending", "rejected", rejected);
+
+        for (Claim sibling : siblings) {
+            notificationService.createClaimStatusNotification(
+                    sibling.getClaimantUser().getUserId(),
+                    lost ? "LOST" : "FOUND",
+                    "rejected",
+                    sibling.getClaimId(),
+                    reviewer.getName()
+            );
         }
     }
 
@@ -118,6 +192,36 @@ public class ClaimService{
         return claims.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
+    // Claims with item, claimant and staff details for the staff board (one query)
+    public List<ClaimDetailDTO> getClaimDetails(String status) {
+        return claimRepository.findDetails(normalizeFilter(status));
+    }
+
+    // One page of claim details, newest first, continuing after the given cursor
+    public CursorPageDTO<ClaimDetailDTO> getClaimDetailsPage(String status, String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        PageCursor after = PageCursor.decode(cursor);
+        String statusFilter = normalizeFilter(status);
+
+        // Fetch one extra row to know whether another page exists
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<ClaimDetailDTO> rows = after == null
+                ? claimRepository.findDetailsFirstPage(statusFilter, window)
+                : claimRepository.findDetailsPageAfter(statusFilter, after.getTimestamp(), after.getId(), window);
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ClaimDetailDTO last = rows.get(rows.size() - 1);
+            nextCursor = PageCursor.encode(last.getDateSubmitted(), last.getClaimId());
+        }
+        return new CursorPageDTO<>(rows, nextCursor, hasMore, pageSize);
+    }
+
     // Gets claim by the userId
     public List<ClaimResponseDTO> getClaimsByUserId(int userId) {
         List<Claim> claims = claimRepository.findByClaimantUser_UserId(userId);
@@ -126,7 +230,25 @@ public class ClaimService{
                 .collect(Collectors.toList());
     }
 
+    // Claims on one lost or found item, newest first (one query)
+    public List<ClaimResponseDTO> getClaimsForItem(String itemType, int itemId) {
+        String type = itemType == null ? "" : itemType.trim().toLowerCase();
+        List<Claim> claims;
+        if ("lost".equals(type)) {
+            claims = claimRepository.findByLostItem_ItemId(itemId);
+        } else if ("found".equals(type)) {
+            claims = claimRepository.findByFoundItem_ItemId(itemId);
+        } else {
+            throw new RuntimeException("Invalid item type: " + itemType + ". Must be 'lost' or 'found'");
+        }
+        return claims.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     // Get claim by itemId
+    // Lost and found ids overlap, so this mixes claims of two different items when both
+    // exist; kept for older clients, use getClaimsForItem instead
     public List<ClaimResponseDTO> getClaimsByItemId(int itemId) {
         List<Claim> lostItemClaims = claimRepository.findByLostItem_ItemId(itemId);
         List<Claim> foundItemClaims = claimRepository.findByFoundItem_ItemId(itemId);
@@ -149,22 +271,23 @@ public class ClaimService{
     // Deletes a claim
     @Transactional
     public void deleteClaim(int claimId) {
-        if (!claimRepository.existsById(claimId)) {
-            throw new RuntimeException("Claim not found with id: " + claimId);
-        }
-        claimRepository.deleteById(claimId);
+        Claim claim = claimRepository.findById(claimId)
+                .orElseThrow(() -> new RuntimeException("Claim not found with id: " + claimId));
+        dashboardCounterStore.claimChanged(claim.getStatus(), null);
+        claimRepository.delete(claim);
     }
 
     public ClaimStatsDTO getClaimStats() {
-        List<Claim> pending = claimRepository.findByStatus("pending");
-        List<Claim> approved = claimRepository.findByStatus("approved");
-        List<Claim> rejected = claimRepository.findByStatus("rejected");
+        Map<String, Long> counts = dashboardCounterStore.getStats().getClaimsByStatus();
+        int pending = counts.getOrDefault("pending", 0L).intValue();
+        int approved = counts.getOrDefault("approved", 0L).intValue();
+        int rejected = counts.getOrDefault("rejected", 0L).intValue();
 
         ClaimStatsDTO stats = new ClaimStatsDTO();
-        stats.setPendingCount(pending.size());
-        stats.setApprovedCount(approved.size());
-        stats.setRejectedCount(rejected.size());
-        stats.setTotalClaims(pending.size() + approved.size() + rejected.size());
+        stats.setPendingCount(pending);
+        stats.setApprovedCount(approved);
+        stats.setRejectedCount(rejected);
+        stats.setTotalClaims(pending + approved + rejected);
 
         return stats;
     }
@@ -185,6 +308,11 @@ public class ClaimService{
         public void setTotalClaims(int totalClaims) { this.totalClaims = totalClaims; }
     }
 
+    // Blank status filters mean "all"; others are matched in lower case
+    private String normalizeFilter(String value) {
+        return value != null && !value.isBlank() ? value.trim().toLowerCase() : null;
+    }
+
     // Converts Entity to Response DTO
     private ClaimResponseDTO convertToDTO(Claim claim) {
         ClaimResponseDTO dto = new ClaimResponseDTO();
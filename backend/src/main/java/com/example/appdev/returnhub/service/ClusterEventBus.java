@@ -0,0 +1,215 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.ClusterEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpStompClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Change feed between backend nodes in relay mode (websocket.broker.mode=relay).
+// Several components keep in-memory state that their write paths update locally:
+// listing cache versions, dashboard counters and the item index. Each change is
+// published here, on the same STOMP broker the relay uses, and applied by the
+// other nodes. Events carry ids and keys, never rows; receivers invalidate or
+// re-read the database. Events published while a node's feed is down are not kept,
+// so on every connect (the first one included) the node asks its peers to resync
+// from the database, and after a reconnect it resyncs itself as well.
+// In simple (single node) mode nothing connects and publish is a no-op.
+@Component
+public class ClusterEventBus {
+    public static final String TOPIC = "/topic/cluster.events";
+    // Sent by a node whose feed has just connected: peers resync what it may have missed
+    private static final String RESYNC_KIND = "resync";
+
+    private final boolean enabled;
+    private final String host;
+    private final int port;
+    private final String login;
+    private final String passcode;
+    private final String virtualHost;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, List<Consumer<List<String>>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> resyncListeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean connecting = new AtomicBoolean();
+
+    private ReactorNettyTcpStompClient client;
+    private volatile StompSession session;
+    private volatile boolean connectedBefore;
+
+    public ClusterEventBus(@Value("${websocket.broker.mode:simple}") String brokerMode,
+                           @Value("${websocket.broker.relay.host:localhost}") String host,
+                           @Value("${websocket.broker.relay.port:61613}") int port,
+                           @Value("${websocket.broker.relay.system-login:guest}") String login,
+                           @Value("${websocket.broker.relay.system-passcode:guest}") String passcode,
+                           @Value("${websocket.broker.relay.virtual-host:}") String virtualHost) {
+        this.enabled = "relay".equalsIgnoreCase(brokerMode);
+        this.host = host;
+        this.port = port;
+        this.login = login;
+        this.passcode = passcode;
+        this.virtualHost = virtualHost;
+    }
+
+    // ==================== REGISTRATION ====================
+
+    // Handler for events of one kind published by other nodes
+    public void subscribe(String kind, Consumer<List<String>> handler) {
+        handlers.computeIfAbsent(kind, k -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    // Runs after this node's feed reconnects, and when a peer's feed connects, since
+    // events may have been missed meanwhile
+    public void onResync(Runnable listener) {
+        resyncListeners.add(listener);
+    }
+
+    // ==================== PUBLISH ====================
+
+    // Call after the change has committed
+    public void publish(String kind, List<String> keys) {
+        if (!enabled) {
+            return;
+        }
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            // Dropped: the other nodes resync when this node's feed connects again
+            System.err.println("Cluster event '" + kind + "' not sent: broker connection is down");
+            return;
+        }
+        try {
+            current.send(TOPIC, new ClusterEventDTO(nodeId, kind, keys));
+        } catch (Exception e) {
+            System.err.println("Error publishing cluster event '" + kind + "': " + e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isConnected() {
+        StompSession current = session;
+        return current != null && current.isConnected();
+    }
+
+    // ==================== CONNECTION ====================
+
+    // Connects at startup and reconnects after the broker connection drops
+    @Scheduled(fixedDelayString = "${cluster.events.reconnect-ms:5000}")
+    public void ensureConnected() {
+        if (!enabled || isConnected() || !connecting.compareAndSet(false, true)) {
+            return;
+        }
+        if (client == null) {
+            client = new ReactorNettyTcpStompClient(host, port);
+            client.setMessageConverter(new MappingJackson2MessageConverter());
+        }
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin(login);
+        connectHeaders.setPasscode(passcode);
+        if (!virtualHost.isBlank()) {
+            connectHeaders.setHost(virtualHost);
+        }
+        client.connectAsync(connectHeaders, new FeedHandler()).whenComplete((connected, error) -> {
+            connecting.set(false);
+            if (error != null) {
+                System.err.println("Cluster event feed could not connect to " + host + ":" + port + ": "
+                        + error.getMessage());
+            }
+        });
+    }
+
+    // Drops the broker connection; the scheduled check connects again
+    public void disconnect() {
+        StompSession current = session;
+        session = null;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        disconnect();
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    private class FeedHandler extends StompSessionHandlerAdapter {
+        @Override
+        public void afterConnected(StompSession connected, StompHeaders connectedHeaders) {
+            connected.subscribe(TOPIC, this);
+            session = connected;
+            if (connectedBefore) {
+                resyncListeners.forEach(ClusterEventBus::runSafely);
+            }
+            connectedBefore = true;
+            // Anything this node published before now never reached its peers
+            publish(RESYNC_KIND, List.of());
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return ClusterEventDTO.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            ClusterEventDTO event = (ClusterEventDTO) payload;
+            if (event == null || nodeId.equals(event.getOrigin())) {
+                return;
+            }
+            if (RESYNC_KIND.equals(event.getKind())) {
+                resyncListeners.forEach(ClusterEventBus::runSafely);
+                return;
+            }
+            List<Consumer<List<String>>> kindHandlers = handlers.get(event.getKind());
+            if (kindHandlers == null) {
+                return;
+            }
+            List<String> keys = event.getKeys() == null ? List.of() : event.getKeys();
+            for (Consumer<List<String>> handler : kindHandlers) {
+                runSafely(() -> handler.accept(keys));
+            }
+        }
+
+        @Override
+        public void handleException(StompSession failed, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            System.err.println("Error handling cluster event: " + exception.getMessage());
+        }
+
+        @Override
+        public void handleTransportError(StompSession failed, Throwable exception) {
+            if (session == failed) {
+                session = null;
+            }
+            System.err.println("Cluster event feed lost its broker connection: " + exception.getMessage());
+        }
+    }
+
+    private static void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            System.err.println("Error applying cluster event: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.config.StompPrincipal;
+import com.example.appdev.returnhub.repositor.ConversationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bounded LRU of conversation id -> (userId, staffId), so real-time pushes can address the
+// other participant without loading the Conversation for every message. Participants are
+// fixed when a conversation is created, so entries never go stale; they only age out.
+@Component
+public class ConversationParticipantCache {
+    private final ConversationRepository conversationRepository;
+    private final int maxEntries;
+
+    // Access-ordered, guarded by itself
+    private final LinkedHashMap<Integer, Participants> entries;
+
+    public ConversationParticipantCache(ConversationRepository conversationRepository,
+                                        @Value("${conversations.participant-cache.max-entries:1024}") int maxEntries) {
+        this.conversationRepository = conversationRepository;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Participants> eldest) {
+                return size() > ConversationParticipantCache.this.maxEntries;
+            }
+        };
+    }
+
+    public Participants get(int conversationId) {
+        synchronized (entries) {
+            Participants cached = entries.get(conversationId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<Object[]> rows = conversationRepository.findParticipants(conversationId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Conversation not found with id: " + conversationId);
+        }
+        Object[] row = rows.get(0);
+        Participants participants = new Participants(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+        synchronized (entries) {
+            entries.put(conversationId, participants);
+        }
+        return participants;
+    }
+
+    public static class Participants {
+        private final int userId;
+        private final int staffId;
+
+        private Participants(int userId, int staffId) {
+            this.userId = userId;
+            this.staffId = staffId;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public int getStaffId() {
+            return staffId;
+        }
+
+        // Principal name of whoever did not send: the staff member for USER messages, the user for STAFF ones
+        public String counterpartOf(String senderType) {
+            return StompPrincipal.STAFF.equals(senderType)
+                    ? StompPrincipal.userName(userId)
+                    : StompPrincipal.staffName(staffId);
+        }
+    }
+}
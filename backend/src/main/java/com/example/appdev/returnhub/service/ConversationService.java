@@ -2,6 +2,7 @@ package com.example.appdev.returnhub.service;
 
 import com.example.appdev.returnhub.dto.ConversationDTO;
 import com.example.appdev.returnhub.dto.MessageDTO;
+import com.example.appdev.returnhub.dto.MessageHistoryPageDTO;
 import com.example.appdev.returnhub.entity.Conversation;
 import com.example.appdev.returnhub.entity.Message;
 import com.example.appdev.returnhub.entity.Staff;
@@ -17,9 +18,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 public class ConversationService {
@@ -33,6 +33,10 @@ public class ConversationService {
     private StaffRepository staffRepository;
     @Autowired
     private NotificationService notificationService;
+    @Autowired
+    private MessageHistoryService messageHistoryService;
+    @Autowired
+    private PresenceService presenceService;
 
     // ==================== CONVERSATION MANAGEMENT ====================
 
@@ -44,7 +48,7 @@ public class ConversationService {
         List<Conversation> existing = conversationRepository.findByUser_UserIdAndStaff_StaffId(userId, staffId);
 
         if (!existing.isEmpty()) {
-            return convertToDTO(existing.get(0));
+            return getConversation(existing.get(0).getConversationId());
         }
 
         // Create new conversation
@@ -62,44 +66,53 @@ public class ConversationService {
         return convertToDTO(savedConversation);
     }
 
-    // Auto-pick a staff and create/get conversation
+    // Auto-pick a staff and create/get conversation.
+    // A user who already has threads stays in them, so their history is not split across
+    // staff: the thread with an online staff member if there is one, otherwise the newest.
+    // Only a user with no thread at all is assigned a staff member, preferring one online.
     @Transactional
     public ConversationDTO getOrCreateConversationAuto(int userId) {
+        List<Object[]> threads = conversationRepository.findStaffThreadsOfUser(userId);
+        if (!threads.isEmpty()) {
+            Object[] chosen = threads.stream()
+                    .filter(row -> presenceService.isStaffOnline((Integer) row[1]))
+                    .findFirst()
+                    .orElse(threads.get(0));
+            return getConversation((Integer) chosen[0]);
+        }
+
         List<Staff> staffList = staffRepository.findAll();
         if (staffList.isEmpty()) {
             throw new RuntimeException("No staff available to assign for conversation");
         }
         Staff selected = staffList.stream()
-                .filter(s -> "STAFF".equalsIgnoreCase(s.getRole()))
+                .filter(s -> "STAFF".equalsIgnoreCase(s.getRole()) && presenceService.isStaffOnline(s.getStaffId()))
                 .findFirst()
-                .orElse(staffList.get(0));
+                .orElseGet(() -> staffList.stream()
+                        .filter(s -> "STAFF".equalsIgnoreCase(s.getRole()))
+                        .findFirst()
+                        .orElse(staffList.get(0)));
         return getOrCreateConversation(userId, selected.getStaffId());
     }
 
     // Get all conversations for a user
 
     public List<ConversationDTO> getUserConversations(int userId) {
-        List<Conversation> conversations = conversationRepository.findByUser_UserIdOrderByConversationIdDesc(userId);
-        return conversations.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return withPresence(conversationRepository.findUserInbox(userId));
     }
 
     // Get all conversations for a staff member
 
     public List<ConversationDTO> getStaffConversations(int staffId) {
-        List<Conversation> conversations = conversationRepository.findByStaff_StaffIdOrderByConversationIdDesc(staffId);
-        return conversations.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return withPresence(conversationRepository.findStaffInbox(staffId));
     }
 
     // Get specific conversation by ID
 
     public ConversationDTO getConversation(int conversationId) {
-        Conversation conversation = conversationRepository.findById(conversationId)
+        return conversationRepository.findInboxEntry(conversationId)
+                .map(this::withPresence)
                 .orElseThrow(() -> new RuntimeException("Conversation not found with id: " + conversationId));
-        return convertToDTO(conversation);
     }
 
     // ==================== MESSAGE MANAGEMENT ====================
@@ -122,11 +135,7 @@ public class ConversationService {
                     .orElseThrow(() -> new RuntimeException("User not found with id: " + senderId));
             message.setSenderUser(user);
 
-            // Send notification to staff
-            notificationService.createNewMessageNotification(
-                    conversation.getStaff().getStaffId(),
-                    conversationId,
-                    user.getName());
+            // Notifications belong to users only; staff see the message on the conversation topic
 
         } else if ("STAFF".equalsIgnoreCase(senderType)) {
             Staff staff = staffRepository.findById(senderId)
@@ -143,47 +152,59 @@ public class ConversationService {
         }
 
         Message savedMessage = messageRepository.save(message);
-        return convertToMessageDTO(savedMessage);
+        if (savedMessage.getSenderUser() != null) {
+            conversationRepository.recordMessageFromUser(conversationId, savedMessage.getMessageId(),
+                    savedMessage.getCreatedAt());
+        } else {
+            conversationRepository.recordMessageFromStaff(conversationId, savedMessage.getMessageId(),
+                    savedMessage.getCreatedAt());
+        }
+        return messageHistoryService.toDTO(savedMessage);
     }
 
     // Get all messages in a conversation
 
     public List<MessageDTO> getConversationMessages(int conversationId) {
-        List<Message> messages = messageRepository.findByConversation_ConversationIdOrderByCreatedAtAsc(conversationId);
-        return messages.stream()
-                .map(this::convertToMessageDTO)
-                .collect(Collectors.toList());
+        return messageHistoryService.getAllMessages(conversationId);
     }
 
     // Get recent messages with pagination
 
     public List<MessageDTO> getRecentMessages(int conversationId, int limit) {
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0,
-                Math.max(1, limit));
-        List<Message> messages = messageRepository.findByConversation_ConversationIdOrderByCreatedAtDesc(conversationId,
-                pageable);
-        return messages.stream()
-                .map(this::convertToMessageDTO)
-                .sorted((m1, m2) -> m1.getCreatedAt().compareTo(m2.getCreatedAt()))
-                .collect(Collectors.toList());
+        return messageHistoryService.getRecentMessages(conversationId, limit);
+    }
+
+    // Get one window of the history (before/after cursors, see MessageHistoryService)
+
+    public MessageHistoryPageDTO getMessageHistory(int conversationId, String before, String after, Integer limit) {
+        return messageHistoryService.getHistory(conversationId, before, after, limit);
     }
 
     // Mark messages as read in a conversation
 
     @Transactional
     public void markMessagesAsRead(int conversationId, boolean isUser) {
+        // Reset the counter first so a concurrent send waits on its row lock (see MessageService)
+        if (isUser) {
+            conversationRepository.resetUserUnreadCount(conversationId);
+        } else {
+            conversationRepository.resetStaffUnreadCount(conversationId);
+        }
         messageRepository.markMessagesAsRead(conversationId, isUser);
     }
 
-    // Get unread message count for a user in conversation
+    // Get unread message count for a user in conversation (read from the denormalized counter)
 
     public long getUnreadCount(int conversationId, boolean isUser) {
-        return messageRepository.countUnreadMessages(conversationId, isUser);
+        Optional<Integer> count = isUser
+                ? conversationRepository.findUserUnreadCount(conversationId)
+                : conversationRepository.findStaffUnreadCount(conversationId);
+        return count.orElseThrow(() -> new RuntimeException("Conversation not found with id: " + conversationId));
     }
 
     // ==================== HELPER METHODS ====================
 
-    // Convert Conversation entity to DTO
+    // Convert a freshly created Conversation entity to DTO (no messages yet)
 
     private ConversationDTO convertToDTO(Conversation conversation) {
         ConversationDTO dto = new ConversationDTO();
@@ -194,55 +215,21 @@ public class ConversationService {
         dto.setStaffId(conversation.getStaff().getStaffId());
         dto.setStaffName(conversation.getStaff().getName());
         dto.setStaffProfileImage(conversation.getStaff().getProfileImage());
-
-        // Get last message
-        List<Message> lastMessages = messageRepository.findTop1ByConversation_ConversationIdOrderByCreatedAtDesc(
-                conversation.getConversationId());
-
-        if (!lastMessages.isEmpty()) {
-            Message lastMessage = lastMessages.get(0);
-            dto.setLastMessage(lastMessage.getContent());
-            dto.setLastMessageTime(lastMessage.getCreatedAt());
-        }
-
-        // Get unread count for user (messages from staff that are unread)
-        long unreadCount = messageRepository.countUnreadMessages(conversation.getConversationId(), true);
-        dto.setUnreadCount((int) unreadCount);
-
-        return dto;
+        dto.setUnreadCount(0);
+        return withPresence(dto);
     }
 
-    // Convert Message entity to DTO
-
-    private MessageDTO convertToMessageDTO(Message message) {
-        MessageDTO dto = new MessageDTO();
-        dto.setMessageId(message.getMessageId());
-        dto.setConversationId(message.getConversation().getConversationId());
-        dto.setContent(message.getContent());
-        dto.setCreatedAt(message.getCreatedAt());
-        dto.setFormattedTime(formatTime(message.getCreatedAt()));
-        dto.setRead(message.isRead());
-
-        if (message.getSenderUser() != null) {
-            dto.setSenderUserId(message.getSenderUser().getUserId());
-            dto.setSenderUserName(message.getSenderUser().getName());
-            dto.setSenderUserProfileImage(message.getSenderUser().getProfileImage());
-            dto.setSenderType("USER");
-        } else if (message.getSenderStaff() != null) {
-            dto.setSenderStaffId(message.getSenderStaff().getStaffId());
-            dto.setSenderStaffName(message.getSenderStaff().getName());
-            dto.setSenderStaffProfileImage(message.getSenderStaff().getProfileImage());
-            dto.setSenderType("STAFF");
-        }
+    // Online flags are in-memory lookups, so they are added after the query rather than joined
 
+    private ConversationDTO withPresence(ConversationDTO dto) {
+        dto.setUserOnline(presenceService.isUserOnline(dto.getUserId()));
+        dto.setStaffOnline(presenceService.isStaffOnline(dto.getStaffId()));
         return dto;
     }
 
-    // Format time for display
-
-    private String formatTime(LocalDateTime time) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("hh:mm a");
-        return time.format(formatter);
+    private List<ConversationDTO> withPresence(List<ConversationDTO> conversations) {
+        conversations.forEach(this::withPresence);
+        return conversations;
     }
 
     // Check if user can access conversation
@@ -0,0 +1,225 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.DashboardStatsDTO;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory dashboard counters. Seeded from the aggregate queries at startup,
+// adjusted by the write paths after their transaction commits, and pushed to
+// /topic/staff/dashboard so staff dashboards don't have to poll.
+// A periodic resync heals any drift (e.g. rows changed outside the app).
+// With several nodes, each node's deltas are also applied by the others through the
+// ClusterEventBus (counters only; the originating node already pushed to the topic).
+@Component
+public class DashboardCounterStore {
+    public static final String DASHBOARD_TOPIC = "/topic/staff/dashboard";
+
+    private final DashboardStatsService dashboardStatsService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterEventBus clusterEventBus;
+
+    private final Map<String, Long> reports = new HashMap<>();
+    private final Map<String, Long> claims = new HashMap<>();
+    private final Map<String, Long> lostItems = new HashMap<>();
+    private final Map<String, Long> foundItems = new HashMap<>();
+    // Counter maps by the group name used in cluster events
+    private final Map<String, Map<String, Long>> groups = Map.of(
+            "reports", reports, "claims", claims, "lost", lostItems, "found", foundItems);
+
+    private volatile DashboardStatsDTO current;
+
+    public DashboardCounterStore(DashboardStatsService dashboardStatsService, SimpMessagingTemplate messagingTemplate,
+                                 ClusterEventBus clusterEventBus) {
+        this.dashboardStatsService = dashboardStatsService;
+        this.messagingTemplate = messagingTemplate;
+        this.clusterEventBus = clusterEventBus;
+        clusterEventBus.subscribe("dashboard", this::applyRemote);
+        clusterEventBus.onResync(this::resync);
+    }
+
+    // ==================== READS ====================
+
+    public DashboardStatsDTO getStats() {
+        DashboardStatsDTO stats = current;
+        if (stats == null) {
+            resync();
+            stats = current;
+        }
+        return stats;
+    }
+
+    // ==================== WRITE-PATH HOOKS ====================
+    // A null old status means the row was created, a null new status that it was deleted.
+
+    public void reportChanged(String type, String oldStatus, String newStatus) {
+        record("reports", DashboardStatsService.reportKey(oldStatus, type),
+                DashboardStatsService.reportKey(newStatus, type), oldStatus != null, newStatus != null);
+    }
+
+    public void claimChanged(String oldStatus, String newStatus) {
+        record("claims", normalize(oldStatus), normalize(newStatus), oldStatus != null, newStatus != null);
+    }
+
+    public void claimsChanged(String oldStatus, String newStatus, int count) {
+        for (int i = 0; i < count; i++) {
+            claimChanged(oldStatus, newStatus);
+        }
+    }
+
+    public void lostItemChanged(String oldStatus, String newStatus) {
+        record("lost", normalize(oldStatus), normalize(newStatus), oldStatus != null, newStatus != null);
+    }
+
+    public void foundItemChanged(String oldStatus, String newStatus) {
+        record("found", normalize(oldStatus), normalize(newStatus), oldStatus != null, newStatus != null);
+    }
+
+    // ==================== SEEDING ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        resync();
+    }
+
+    @Scheduled(initialDelayString = "${dashboard.counters.resync-ms:300000}",
+            fixedDelayString = "${dashboard.counters.resync-ms:300000}")
+    public void resync() {
+        DashboardStatsDTO fresh = dashboardStatsService.getDashboardStats();
+        synchronized (this) {
+            replace(reports, fresh.getReportsByStatusAndType());
+            replace(claims, fresh.getClaimsByStatus());
+            replace(lostItems, fresh.getLostItemsByStatus());
+            replace(foundItems, fresh.getFoundItemsByStatus());
+            current = fresh;
+        }
+        broadcast(fresh);
+    }
+
+    // ==================== HELPERS ====================
+
+    private void record(String group, String fromKey, String toKey, boolean hasFrom, boolean hasTo) {
+        if (hasFrom && hasTo && fromKey.equals(toKey)) {
+            return;
+        }
+        Delta delta = new Delta(group, hasFrom ? fromKey : null, hasTo ? toKey : null);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(delta));
+            return;
+        }
+
+        // Collect every change of the transaction and apply them in one step after commit
+        @SuppressWarnings("unchecked")
+        List<Delta> pending = (List<Delta>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Delta> deltas = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(deltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DashboardCounterStore.this);
+                }
+            });
+            pending = deltas;
+        }
+        pending.add(delta);
+    }
+
+    private void apply(List<Delta> deltas) {
+        broadcast(applyToCounters(deltas));
+        List<String> encoded = new ArrayList<>(deltas.size());
+        for (Delta delta : deltas) {
+            encoded.add(delta.encode());
+        }
+        clusterEventBus.publish("dashboard", encoded);
+    }
+
+    // Deltas committed on another node
+    private void applyRemote(List<String> encoded) {
+        List<Delta> deltas = new ArrayList<>(encoded.size());
+        for (String value : encoded) {
+            Delta delta = Delta.decode(value);
+            if (delta != null && groups.containsKey(delta.group)) {
+                deltas.add(delta);
+            }
+        }
+        applyToCounters(deltas);
+    }
+
+    private DashboardStatsDTO applyToCounters(List<Delta> deltas) {
+        synchronized (this) {
+            for (Delta delta : deltas) {
+                Map<String, Long> counters = groups.get(delta.group);
+                // Only decrement a status that is counted; an unknown one must not appear as -1
+                if (delta.from != null) {
+                    counters.computeIfPresent(delta.from, (status, count) -> Math.max(0L, count - 1));
+                }
+                if (delta.to != null) {
+                    counters.merge(delta.to, 1L, Long::sum);
+                }
+            }
+            DashboardStatsDTO updated = DashboardStatsService.buildStats(reports, claims, lostItems, foundItems);
+            current = updated;
+            return updated;
+        }
+    }
+
+    private void broadcast(DashboardStatsDTO stats) {
+        try {
+            messagingTemplate.convertAndSend(DASHBOARD_TOPIC, stats);
+        } catch (Exception e) {
+            System.err.println("Error broadcasting dashboard stats: " + e.getMessage());
+        }
+    }
+
+    private static void replace(Map<String, Long> target, Map<String, Long> source) {
+        target.clear();
+        if (source != null) {
+            target.putAll(source);
+        }
+    }
+
+    private static String normalize(String status) {
+        return status == null ? "" : status.trim().toLowerCase();
+    }
+
+    private static class Delta {
+        private final String group;
+        private final String from;
+        private final String to;
+
+        private Delta(String group, String from, String to) {
+            this.group = group;
+            this.from = from;
+            this.to = to;
+        }
+
+        // "group|from|to", with an empty part for a missing status
+        private String encode() {
+            return group + "|" + (from == null ? "" : from) + "|" + (to == null ? "" : to);
+        }
+
+        private static Delta decode(String value) {
+            String[] parts = value == null ? new String[0] : value.split("\\|", -1);
+            if (parts.length != 3) {
+                return null;
+            }
+            return new Delta(parts[0], parts[1].isEmpty() ? null : parts[1], parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.DashboardStatsDTO;
+import com.example.appdev.returnhub.repositor.ClaimRepository;
+import com.example.appdev.returnhub.repositor.FoundItemRepository;
+import com.example.appdev.returnhub.repositor.LostItemRepository;
+import com.example.appdev.returnhub.repositor.SubmittedReportRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class DashboardStatsService {
+    private final SubmittedReportRepository submittedReportRepository;
+    private final ClaimRepository claimRepository;
+    private final LostItemRepository lostItemRepository;
+    private final FoundItemRepository foundItemRepository;
+
+    public DashboardStatsService(SubmittedReportRepository submittedReportRepository,
+                                 ClaimRepository claimRepository,
+                                 LostItemRepository lostItemRepository,
+                                 FoundItemRepository foundItemRepository) {
+        this.submittedReportRepository = submittedReportRepository;
+        this.claimRepository = claimRepository;
+        this.lostItemRepository = lostItemRepository;
+        this.foundItemRepository = foundItemRepository;
+    }
+
+    // Four GROUP BY count queries instead of loading every report and claim
+    @Transactional(readOnly = true)
+    public DashboardStatsDTO getDashboardStats() {
+        Map<String, Long> reports = new HashMap<>();
+        for (Object[] row : submittedReportRepository.countGroupedByStatusAndType()) {
+            reports.merge(reportKey((String) row[0], (String) row[1]), (Long) row[2], Long::sum);
+        }
+        return buildStats(reports,
+                toStatusCounts(claimRepository.countGroupedByStatus()),
+                toStatusCounts(lostItemRepository.countGroupedByStatus()),
+                toStatusCounts(foundItemRepository.countGroupedByStatus()));
+    }
+
+    // Derives the dashboard figures from the raw status breakdowns
+    public static DashboardStatsDTO buildStats(Map<String, Long> reports, Map<String, Long> claims,
+                                               Map<String, Long> lostItems, Map<String, Long> foundItems) {
+        DashboardStatsDTO stats = new DashboardStatsDTO();
+
+        long pendingReports = 0;
+        long activeLost = 0;
+        long activeFound = 0;
+        long resolved = 0;
+        for (Map.Entry<String, Long> entry : reports.entrySet()) {
+            String key = entry.getKey();
+            String status = key.substring(0, key.indexOf(':'));
+            String type = key.substring(key.indexOf(':') + 1);
+            long count = entry.getValue();
+
+            if ("pending".equals(status) || "submitted".equals(status)) {
+                pendingReports += count;
+            }
+            if ("approved".equals(status) && "lost".equals(type)) {
+                activeLost += count;
+            }
+            if ("approved".equals(status) && "found".equals(type)) {
+                activeFound += count;
+            }
+            if ("approved".equals(status) || "rejected".equals(status)) {
+                resolved += count;
+            }
+        }
+
+        stats.setPendingReports(pendingReports);
+        stats.setPendingClaims(claims.getOrDefault("pending", 0L));
+        stats.setActiveLostItems(activeLost);
+        stats.setActiveFoundItems(activeFound);
+        stats.setResolvedCases(resolved);
+        stats.setReportsByStatusAndType(new HashMap<>(reports));
+        stats.setClaimsByStatus(new HashMap<>(claims));
+        stats.setLostItemsByStatus(new HashMap<>(lostItems));
+        stats.setFoundItemsByStatus(new HashMap<>(foundItems));
+        return stats;
+    }
+
+    public static String reportKey(String status, String type) {
+        return normalize(status) + ":" + normalize(type);
+    }
+
+    public static Map<String, Long> toStatusCounts(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.merge(normalize((String) row[0]), (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+}
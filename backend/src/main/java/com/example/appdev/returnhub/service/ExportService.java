@@ -0,0 +1,225 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.ClaimExportRowDTO;
+import com.example.appdev.returnhub.dto.ItemExportRowDTO;
+import com.example.appdev.returnhub.dto.ReportExportRowDTO;
+import com.example.appdev.returnhub.repositor.ClaimRepository;
+import com.example.appdev.returnhub.repositor.FoundItemRepository;
+import com.example.appdev.returnhub.repositor.LostItemRepository;
+import com.example.appdev.returnhub.repositor.SubmittedReportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Streaming staff exports (NDJSON or CSV). Rows come from Stream<T> repository queries
+// that use MySQL's streaming result set and are written to the response as they are read, inside one
+// read-only transaction, so heap use stays flat regardless of the row count.
+@Service
+public class ExportService {
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final List<String> REPORT_COLUMNS = List.of(
+            "reportId", "type", "status", "category", "itemName", "description", "location", "dateOfEvent",
+            "dateSubmitted", "dateReviewed", "submitterUserId", "submitterName", "submitterEmail",
+            "reviewerStaffId", "reviewerStaffName");
+    private static final List<String> CLAIM_COLUMNS = List.of(
+            "claimId", "status", "dateSubmitted", "itemType", "itemId", "reportId", "itemName", "category",
+            "location", "dateOfEvent", "claimantUserId", "claimantName", "claimantEmail", "verifiedByStaffId",
+            "verifiedByStaffName", "proofDocumentUrl");
+    private static final List<String> ITEM_COLUMNS = List.of(
+            "itemType", "itemId", "status", "createdAt", "reportId", "itemName", "category", "location",
+            "dateOfEvent", "postedByStaffId", "postedByStaffName");
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+            throw new RuntimeException("Invalid format: " + value + ". Must be 'ndjson' or 'csv'");
+        }
+    }
+
+    // Feeds every row to the sink; runs inside the export transaction
+    @FunctionalInterface
+    private interface RowSource<T> {
+        void forEach(Consumer<T> sink);
+    }
+
+    private final SubmittedReportRepository submittedReportRepository;
+    private final ClaimRepository claimRepository;
+    private final LostItemRepository lostItemRepository;
+    private final FoundItemRepository foundItemRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(SubmittedReportRepository submittedReportRepository,
+                         ClaimRepository claimRepository,
+                         LostItemRepository lostItemRepository,
+                         FoundItemRepository foundItemRepository,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.submittedReportRepository = submittedReportRepository;
+        this.claimRepository = claimRepository;
+        this.lostItemRepository = lostItemRepository;
+        this.foundItemRepository = foundItemRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // ==================== EXPORTS ====================
+
+    public StreamingResponseBody exportReports(String status, String type, Format format) {
+        String statusFilter = normalizeFilter(status);
+        String typeFilter = normalizeFilter(type);
+        RowSource<ReportExportRowDTO> source = sink -> {
+            try (Stream<ReportExportRowDTO> rows = submittedReportRepository.streamForExport(statusFilter, typeFilter)) {
+                rows.forEach(sink);
+            }
+        };
+        return stream(source, format, REPORT_COLUMNS, r -> new Object[]{
+                r.getReportId(), r.getType(), r.getStatus(), r.getCategory(), r.getItemName(), r.getDescription(),
+                r.getLocation(), r.getDateOfEvent(), r.getDateSubmitted(), r.getDateReviewed(),
+                r.getSubmitterUserId(), r.getSubmitterName(), r.getSubmitterEmail(),
+                r.getReviewerStaffId(), r.getReviewerStaffName()});
+    }
+
+    public StreamingResponseBody exportClaims(String status, Format format) {
+        String statusFilter = normalizeFilter(status);
+        RowSource<ClaimExportRowDTO> source = sink -> {
+            try (Stream<ClaimExportRowDTO> rows = claimRepository.streamForExport(statusFilter)) {
+                rows.forEach(sink);
+            }
+        };
+        return stream(source, format, CLAIM_COLUMNS, c -> new Object[]{
+                c.getClaimId(), c.getStatus(), c.getDateSubmitted(), c.getItemType(), c.getItemId(), c.getReportId(),
+                c.getItemName(), c.getCategory(), c.getLocation(), c.getDateOfEvent(), c.getClaimantUserId(),
+                c.getClaimantName(), c.getClaimantEmail(), c.getVerifiedByStaffId(), c.getVerifiedByStaffName(),
+                c.getProofDocumentUrl()});
+    }
+
+    // Lost items first, then found items; type narrows it to one side
+    public StreamingResponseBody exportItems(String status, String type, Format format) {
+        String statusFilter = normalizeFilter(status);
+        String typeFilter = normalizeFilter(type);
+        if (typeFilter != null && !"lost".equals(typeFilter) && !"found".equals(typeFilter)) {
+            throw new RuntimeException("Invalid type: " + type + ". Must be 'lost' or 'found'");
+        }
+        RowSource<ItemExportRowDTO> source = sink -> {
+            if (typeFilter == null || "lost".equals(typeFilter)) {
+                try (Stream<ItemExportRowDTO> rows = lostItemRepository.streamForExport(statusFilter)) {
+                    rows.forEach(sink);
+                }
+            }
+            if (typeFilter == null || "found".equals(typeFilter)) {
+                try (Stream<ItemExportRowDTO> rows = foundItemRepository.streamForExport(statusFilter)) {
+                    rows.forEach(sink);
+                }
+            }
+        };
+        return stream(source, format, ITEM_COLUMNS, i -> new Object[]{
+                i.getItemType(), i.getItemId(), i.getStatus(), i.getCreatedAt(), i.getReportId(), i.getItemName(),
+                i.getCategory(), i.getLocation(), i.getDateOfEvent(), i.getPostedByStaffId(),
+                i.getPostedByStaffName()});
+    }
+
+    // ==================== HELPERS ====================
+
+    private <T> StreamingResponseBody stream(RowSource<T> source, Format format, List<String> columns,
+                                             Function<T, Object[]> csvValues) {
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            if (format == Format.CSV) {
+                writeCsvLine(writer, columns.toArray());
+            }
+            int[] written = {0};
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> source.forEach(row -> {
+                    try {
+                        if (format == Format.CSV) {
+                            writeCsvLine(writer, csvValues.apply(row));
+                        } else {
+                            writer.write(objectMapper.writeValueAsString(row));
+                            writer.write('\n');
+                        }
+                        if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; surface it as the IOException it is
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Keep spreadsheet apps from evaluating user-entered text as a formula
+        if (!text.isEmpty() && !(value instanceof Number) && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private static String normalizeFilter(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase();
+    }
+}
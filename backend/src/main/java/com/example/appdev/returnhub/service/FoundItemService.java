@@ -1,5 +1,6 @@
 package com.example.appdev.returnhub.service;
 
+import com.example.appdev.returnhub.dto.CursorPageDTO;
 import com.example.appdev.returnhub.dto.FoundItemResponseDTO;
 import com.example.appdev.returnhub.entity.FoundItem;
 import com.example.appdev.returnhub.entity.Staff;
@@ -7,6 +8,7 @@ import com.example.appdev.returnhub.entity.SubmittedReport;
 import com.example.appdev.returnhub.repositor.FoundItemRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,9 +17,17 @@ import java.util.stream.Collectors;
 
 @Service
 public class FoundItemService {
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
 
     @Autowired
     private FoundItemRepository foundItemRepository;
+    @Autowired
+    private DashboardCounterStore dashboardCounterStore;
+    @Autowired
+    private ReportMatchingService reportMatchingService;
+    @Autowired
+    private PublicListingCache publicListingCache;
 
     @Transactional
     public FoundItem createFoundItemFromReport(SubmittedReport report, Staff staff) {
@@ -26,19 +36,57 @@ public class FoundItemService {
         foundItem.setCreatedAt(LocalDateTime.now());
         foundItem.setPostedByStaff(staff);
         foundItem.setSubmittedReport(report);
-        return foundItemRepository.save(foundItem);
+        FoundItem saved = foundItemRepository.save(foundItem);
+        dashboardCounterStore.foundItemChanged(null, saved.getStatus());
+        reportMatchingService.itemStatusChanged(report, saved.getItemId(), saved.getCreatedAt(), saved.getStatus());
+        publicListingCache.invalidateAfterCommit("found");
+        return saved;
     }
 
     public List<FoundItemResponseDTO> getAllActiveFoundItems() {
-        List<FoundItem> items = foundItemRepository.findByStatus("active");
-        return items.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return publicListingCache.get("found", "all", () -> foundItemRepository.findByStatusWithDetails("active")
+                .stream().map(this::convertToDTO).collect(Collectors.toList()));
     }
 
+    // One page of active found items, newest first, continuing after the given cursor
+    public CursorPageDTO<FoundItemResponseDTO> getActiveFoundItemsPage(String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        PageCursor after = PageCursor.decode(cursor);
+        String key = "page|" + (after == null ? "" : cursor) + "|" + pageSize;
+        return publicListingCache.get("found", key, () -> loadActivePage(after, pageSize));
+    }
+
+    private CursorPageDTO<FoundItemResponseDTO> loadActivePage(PageCursor after, int pageSize) {
+        // Fetch one extra row to know whether another page exists
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<FoundItem> rows = after == null
+                ? foundItemRepository.findFirstPage("active", window)
+                : foundItemRepository.findPageAfter("active", after.getTimestamp(), after.getId(), window);
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            FoundItem last = rows.get(rows.size() - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getItemId());
+        }
+
+        List<FoundItemResponseDTO> items = rows.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor, hasMore, pageSize);
+    }
+
+    @Transactional
     public FoundItemResponseDTO updateFoundItemStatus(int itemId, String status) {
         FoundItem item = foundItemRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Found item not found with id: " + itemId));
+        dashboardCounterStore.foundItemChanged(item.getStatus(), status);
         item.setStatus(status);
         FoundItem updatedItem = foundItemRepository.save(item);
+        reportMatchingService.itemStatusChanged(item.getSubmittedReport(), item.getItemId(), item.getCreatedAt(), status);
+        publicListingCache.invalidateAfterCommit("found");
         return convertToDTO(updatedItem);
     }
 
@@ -0,0 +1,95 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.entity.SubmittedReport;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Immutable snapshot of an active lost/found item as held by the in-memory index.
+// Built inside the write transaction so the index never touches lazy entities later.
+public final class IndexedItem {
+    private final int reportId;
+    private final int itemId;
+    private final String type;
+    private final String category;
+    private final String itemName;
+    private final String location;
+    private final LocalDate dateOfEvent;
+    private final String photoUrl;
+    private final LocalDateTime listedAt;
+    private final int submitterUserId;
+
+    private final Set<String> tokens;
+    private final Set<String> nameTokens;
+    private final Set<String> locationTokens;
+
+    public IndexedItem(SubmittedReport report, int itemId, LocalDateTime listedAt) {
+        this.reportId = report.getReportId();
+        this.itemId = itemId;
+        this.type = report.getType() == null ? "" : report.getType().trim().toLowerCase();
+        this.category = report.getCategory();
+        this.itemName = report.getItemName();
+        this.location = report.getLocation();
+        this.dateOfEvent = report.getDateOfEvent();
+        this.photoUrl = report.getPhotoUrl1() != null ? report.getPhotoUrl1()
+                : (report.getPhotoUrl2() != null ? report.getPhotoUrl2() : report.getPhotoUrl3());
+        this.listedAt = listedAt;
+        this.submitterUserId = report.getSubmitterUser() != null ? report.getSubmitterUser().getUserId() : 0;
+        this.tokens = Tokenizer.tokenize(report.getItemName(), report.getDescription());
+        this.nameTokens = Tokenizer.tokenize(report.getItemName());
+        this.locationTokens = Tokenizer.tokenize(report.getLocation());
+    }
+
+    public int getReportId() {
+        return reportId;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDate getDateOfEvent() {
+        return dateOfEvent;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public LocalDateTime getListedAt() {
+        return listedAt;
+    }
+
+    public int getSubmitterUserId() {
+        return submitterUserId;
+    }
+
+    public Set<String> getTokens() {
+        return tokens;
+    }
+
+    public Set<String> getNameTokens() {
+        return nameTokens;
+    }
+
+    public Set<String> getLocationTokens() {
+        return locationTokens;
+    }
+}
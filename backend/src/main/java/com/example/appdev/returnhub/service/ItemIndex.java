@@ -0,0 +1,147 @@
+package com.example.appdev.returnhub.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// In-memory inverted index over the active (publicly listed) lost and found items,
+// one posting map per side. Shared by the matching engine and item search; both
+// read through read(), writers go through put/remove/replaceAll.
+@Component
+public class ItemIndex {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, IndexedItem> itemsByReportId = new HashMap<>();
+    private final Map<String, Side> sides = Map.of("lost", new Side(), "found", new Side());
+    private final View view = new View();
+
+    // ==================== WRITES ====================
+
+    public void replaceAll(List<IndexedItem> items) {
+        lock.writeLock().lock();
+        try {
+            itemsByReportId.clear();
+            sides.values().forEach(Side::clear);
+            for (IndexedItem item : items) {
+                add(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Indexes (or re-indexes) an item; returns the entry it replaced, if any
+    public IndexedItem put(IndexedItem item) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = removeInternal(item.getReportId());
+            add(item);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public IndexedItem remove(int reportId) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(reportId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== READS ====================
+
+    // Runs the reader under the read lock; it must not block or keep the view
+    public <T> T read(Function<View, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(view);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Integer> getStats() {
+        return read(v -> Map.of(
+                "lostItems", v.sideSize("lost"), "foundItems", v.sideSize("found"),
+                "lostTokens", sides.get("lost").postings.size(), "foundTokens", sides.get("found").postings.size()));
+    }
+
+    public final class View {
+        private View() {}
+
+        public IndexedItem get(int reportId) {
+            return itemsByReportId.get(reportId);
+        }
+
+        public Collection<IndexedItem> items() {
+            return Collections.unmodifiableCollection(itemsByReportId.values());
+        }
+
+        public int sideSize(String type) {
+            Side side = sides.get(type);
+            return side == null ? 0 : side.size;
+        }
+
+        // Report ids on the given side whose tokens contain the token
+        public Set<Integer> posting(String type, String token) {
+            Side side = sides.get(type);
+            Set<Integer> posting = side == null ? null : side.postings.get(token);
+            return posting == null ? Collections.emptySet() : Collections.unmodifiableSet(posting);
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    // Must hold the write lock
+    private void add(IndexedItem item) {
+        Side side = sides.get(item.getType());
+        if (side == null) {
+            return;
+        }
+        itemsByReportId.put(item.getReportId(), item);
+        side.size++;
+        for (String token : item.getTokens()) {
+            side.postings.computeIfAbsent(token, t -> new HashSet<>()).add(item.getReportId());
+        }
+    }
+
+    // Must hold the write lock
+    private IndexedItem removeInternal(int reportId) {
+        IndexedItem item = itemsByReportId.remove(reportId);
+        if (item == null) {
+            return null;
+        }
+        Side side = sides.get(item.getType());
+        side.size--;
+        for (String token : item.getTokens()) {
+            Set<Integer> posting = side.postings.get(token);
+            if (posting != null) {
+                posting.remove(reportId);
+                if (posting.isEmpty()) {
+                    side.postings.remove(token);
+                }
+            }
+        }
+        return item;
+    }
+
+    private static class Side {
+        private final Map<String, Set<Integer>> postings = new HashMap<>();
+        private int size;
+
+        private void clear() {
+            postings.clear();
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.ItemSearchHitDTO;
+import com.example.appdev.returnhub.dto.ItemSearchPageDTO;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keyword search over the publicly listed lost/found items, served from the same
+// ItemIndex the matching engine keeps current on publish/archive transitions.
+// Keywords are ranked by IDF-weighted overlap (name hits count extra); without
+// keywords the filtered listing comes back newest first.
+@Service
+public class ItemSearchService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final double NAME_BOOST = 0.5;
+    private static final List<String> SIDES = List.of("lost", "found");
+
+    private static final Comparator<IndexedItem> NEWEST_FIRST = Comparator
+            .comparing(IndexedItem::getListedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(IndexedItem::getReportId, Comparator.<Integer>reverseOrder());
+
+    private final ItemIndex itemIndex;
+
+    public ItemSearchService(ItemIndex itemIndex) {
+        this.itemIndex = itemIndex;
+    }
+
+    public ItemSearchPageDTO search(String q, String type, String category, String location,
+                                    LocalDate from, LocalDate to, Integer page, Integer size) {
+        List<String> sides = resolveSides(type);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        int pageSize = PageCursor.clampLimit(size, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+
+        Set<String> keywords = Tokenizer.tokenize(q);
+        Set<String> locationTokens = Tokenizer.tokenize(location);
+        String categoryFilter = category == null || category.isBlank() ? null : category.trim();
+
+        List<Ranked> matches = itemIndex.read(view -> {
+            List<Ranked> ranked = new ArrayList<>();
+            if (keywords.isEmpty()) {
+                for (IndexedItem item : view.items()) {
+                    if (sides.contains(item.getType())
+                            && matchesFilters(item, categoryFilter, locationTokens, from, to)) {
+                        ranked.add(new Ranked(item, 0.0));
+                    }
+                }
+                return ranked;
+            }
+
+            for (String side : sides) {
+                int sideSize = view.sideSize(side);
+                if (sideSize == 0) {
+                    continue;
+                }
+                Map<Integer, Double> relevance = new HashMap<>();
+                double queryWeight = 0;
+                for (String token : keywords) {
+                    Set<Integer> posting = view.posting(side, token);
+                    double idf = Math.log(1.0 + (double) sideSize / (1 + posting.size()));
+                    queryWeight += idf;
+                    for (Integer reportId : posting) {
+                        relevance.merge(reportId, idf, Double::sum);
+                    }
+                }
+                for (Map.Entry<Integer, Double> entry : relevance.entrySet()) {
+                    IndexedItem item = view.get(entry.getKey());
+                    if (item == null || !matchesFilters(item, categoryFilter, locationTokens, from, to)) {
+                        continue;
+                    }
+                    double score = entry.getValue() / queryWeight
+                            + NAME_BOOST * nameOverlap(keywords, item.getNameTokens());
+                    ranked.add(new Ranked(item, score));
+                }
+            }
+            return ranked;
+        });
+
+        if (keywords.isEmpty()) {
+            matches.sort(Comparator.comparing((Ranked r) -> r.item, NEWEST_FIRST));
+        } else {
+            matches.sort(Comparator.comparingDouble((Ranked r) -> r.score).reversed()
+                    .thenComparing(r -> r.item, NEWEST_FIRST));
+        }
+
+        int total = matches.size();
+        int fromIndex = (int) Math.min((long) pageNumber * pageSize, total);
+        int toIndex = Math.min(fromIndex + pageSize, total);
+        List<ItemSearchHitDTO> hits = new ArrayList<>(toIndex - fromIndex);
+        for (Ranked ranked : matches.subList(fromIndex, toIndex)) {
+            hits.add(toHit(ranked));
+        }
+        return new ItemSearchPageDTO(hits, pageNumber, pageSize, total, toIndex < total);
+    }
+
+    // ==================== HELPERS ====================
+
+    private List<String> resolveSides(String type) {
+        if (type == null || type.isBlank()) {
+            return SIDES;
+        }
+        String normalized = type.trim().toLowerCase();
+        if (!SIDES.contains(normalized)) {
+            throw new RuntimeException("Invalid type: " + type + ". Must be 'lost' or 'found'");
+        }
+        return List.of(normalized);
+    }
+
+    private static boolean matchesFilters(IndexedItem item, String category, Set<String> locationTokens,
+                                          LocalDate from, LocalDate to) {
+        if (category != null && !category.equalsIgnoreCase(item.getCategory())) {
+            return false;
+        }
+        if (!locationTokens.isEmpty() && !item.getLocationTokens().containsAll(locationTokens)) {
+            return false;
+        }
+        LocalDate date = item.getDateOfEvent();
+        if ((from != null || to != null) && date == null) {
+            return false;
+        }
+        if (from != null && date.isBefore(from)) {
+            return false;
+        }
+        return to == null || !date.isAfter(to);
+    }
+
+    private static double nameOverlap(Collection<String> keywords, Set<String> nameTokens) {
+        if (nameTokens.isEmpty()) {
+            return 0.0;
+        }
+        int shared = 0;
+        for (String keyword : keywords) {
+            if (nameTokens.contains(keyword)) {
+                shared++;
+            }
+        }
+        return (double) shared / keywords.size();
+    }
+
+    private ItemSearchHitDTO toHit(Ranked ranked) {
+        IndexedItem item = ranked.item;
+        return new ItemSearchHitDTO(item.getReportId(), item.getItemId(), item.getType(), item.getItemName(),
+                item.getCategory(), item.getLocation(), item.getDateOfEvent(), item.getPhotoUrl(), item.getListedAt(),
+                Math.round(ranked.score * 1000) / 1000.0);
+    }
+
+    private static class Ranked {
+        private final IndexedItem item;
+        private final double score;
+
+        private Ranked(IndexedItem item, double score) {
+            this.item = item;
+            this.score = score;
+        }
+    }
+}
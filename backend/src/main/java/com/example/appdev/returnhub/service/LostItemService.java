@@ -1,5 +1,6 @@
 package com.example.appdev.returnhub.service;
 
+import com.example.appdev.returnhub.dto.CursorPageDTO;
 import com.example.appdev.returnhub.dto.LostItemResponseDTO;
 import com.example.appdev.returnhub.entity.LostItem;
 import com.example.appdev.returnhub.entity.Staff;
@@ -7,6 +8,7 @@ import com.example.appdev.returnhub.entity.SubmittedReport;
 import com.example.appdev.returnhub.repositor.LostItemRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,9 +17,17 @@ import java.util.stream.Collectors;
 
 @Service
 public class LostItemService {
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
 
     @Autowired
     private LostItemRepository lostItemRepository;
+    @Autowired
+    private DashboardCounterStore dashboardCounterStore;
+    @Autowired
+    private ReportMatchingService reportMatchingService;
+    @Autowired
+    private PublicListingCache publicListingCache;
 
     @Transactional
     public LostItem createLostItemFromReport(SubmittedReport report, Staff staff) {
@@ -26,19 +36,57 @@ public class LostItemService {
         lostItem.setCreatedAt(LocalDateTime.now());
         lostItem.setPostedByStaff(staff);
         lostItem.setSubmittedReport(report);
-        return lostItemRepository.save(lostItem);
+        LostItem saved = lostItemRepository.save(lostItem);
+        dashboardCounterStore.lostItemChanged(null, saved.getStatus());
+        reportMatchingService.itemStatusChanged(report, saved.getItemId(), saved.getCreatedAt(), saved.getStatus());
+        publicListingCache.invalidateAfterCommit("lost");
+        return saved;
     }
 
     public List<LostItemResponseDTO> getAllActiveLostItems() {
-        List<LostItem> items = lostItemRepository.findByStatus("active");
-        return items.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return publicListingCache.get("lost", "all", () -> lostItemRepository.findByStatusWithDetails("active")
+                .stream().map(this::convertToDTO).collect(Collectors.toList()));
     }
 
+    // One page of active lost items, newest first, continuing after the given cursor
+    public CursorPageDTO<LostItemResponseDTO> getActiveLostItemsPage(String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        PageCursor after = PageCursor.decode(cursor);
+        String key = "page|" + (after == null ? "" : cursor) + "|" + pageSize;
+        return publicListingCache.get("lost", key, () -> loadActivePage(after, pageSize));
+    }
+
+    private CursorPageDTO<LostItemResponseDTO> loadActivePage(PageCursor after, int pageSize) {
+        // Fetch one extra row to know whether another page exists
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<LostItem> rows = after == null
+                ? lostItemRepository.findFirstPage("active", window)
+                : lostItemRepository.findPageAfter("active", after.getTimestamp(), after.getId(), window);
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            LostItem last = rows.get(rows.size() - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getItemId());
+        }
+
+        List<LostItemResponseDTO> items = rows.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor, hasMore, pageSize);
+    }
+
+    @Transactional
     public LostItemResponseDTO updateLostItemStatus(int itemId, String status) {
         LostItem item = lostItemRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Lost item not found with id: " + itemId));
+        dashboardCounterStore.lostItemChanged(item.getStatus(), status);
         item.setStatus(status);
         LostItem updatedItem = lostItemRepository.save(item);
+        reportMatchingService.itemStatusChanged(item.getSubmittedReport(), item.getItemId(), item.getCreatedAt(), status);
+        publicListingCache.invalidateAfterCommit("lost");
         return convertToDTO(updatedItem);
     }
 
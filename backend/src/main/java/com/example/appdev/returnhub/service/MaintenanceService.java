@@ -1,6 +1,10 @@
 package com.example.appdev.returnhub.service;
 
+import com.example.appdev.returnhub.repositor.ConversationRepository;
 import com.example.appdev.returnhub.repositor.SubmittedReportRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -8,10 +12,15 @@ import java.util.Map;
 
 @Service
 public class MaintenanceService {
+    private static final int UNREAD_RECONCILE_CHUNK = 500;
+
     private final SubmittedReportRepository submittedReportRepository;
+    private final ConversationRepository conversationRepository;
 
-    public MaintenanceService(SubmittedReportRepository submittedReportRepository) {
+    public MaintenanceService(SubmittedReportRepository submittedReportRepository,
+            ConversationRepository conversationRepository) {
         this.submittedReportRepository = submittedReportRepository;
+        this.conversationRepository = conversationRepository;
     }
 
     @Transactional
@@ -20,4 +29,47 @@ public class MaintenanceService {
         int primaries = submittedReportRepository.ensurePrimaryPhotoUrlFromOthers();
         return Map.of("photoUrl1Filled", filled, "primaryPhotoUrlSet", primaries);
     }
+
+    // Idempotent: only touches conversations whose last message pointer is still empty
+    @Transactional
+    public Map<String, Integer> backfillConversationLastMessages() {
+        int updated = conversationRepository.backfillLastMessage();
+        return Map.of("conversationsUpdated", updated);
+    }
+
+    // Recomputes the per-side unread counters from the messages table. Runs in id chunks,
+    // each committed on its own, so no single statement locks every conversation.
+    public Map<String, Integer> reconcileUnreadCounters() {
+        int maxId = conversationRepository.findMaxConversationId();
+        int scanned = 0;
+        for (int fromId = 1; fromId <= maxId; fromId += UNREAD_RECONCILE_CHUNK) {
+            scanned += conversationRepository.reconcileUnreadCounts(fromId, fromId + UNREAD_RECONCILE_CHUNK - 1);
+        }
+        return Map.of("conversationsReconciled", scanned);
+    }
+
+    @Scheduled(initialDelayString = "${messages.unread-reconcile-ms:3600000}",
+            fixedDelayString = "${messages.unread-reconcile-ms:3600000}")
+    public void scheduledUnreadReconcile() {
+        try {
+            reconcileUnreadCounters();
+        } catch (Exception e) {
+            System.err.println("Unread counter reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            backfillConversationLastMessages();
+        } catch (Exception e) {
+            System.err.println("Conversation last-message backfill failed: " + e.getMessage());
+        }
+        // Counters start at zero for conversations that existed before the columns did
+        try {
+            reconcileUnreadCounters();
+        } catch (Exception e) {
+            System.err.println("Unread counter reconciliation failed: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.MessageDTO;
+import com.example.appdev.returnhub.dto.MessageHistoryPageDTO;
+import com.example.appdev.returnhub.entity.Message;
+import com.example.appdev.returnhub.repositor.MessageRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Message history reads shared by MessageService and ConversationService.
+// Windows are keyset-paginated on (created_at, message_id), so scrolling back
+// or catching up after a reconnect costs the same at any depth.
+@Service
+public class MessageHistoryService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a");
+
+    private final MessageRepository messageRepository;
+
+    public MessageHistoryService(MessageRepository messageRepository) {
+        this.messageRepository = messageRepository;
+    }
+
+    // Whole conversation, oldest first
+    @Transactional(readOnly = true)
+    public List<MessageDTO> getAllMessages(int conversationId) {
+        return messageRepository.findHistory(conversationId).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Last N messages, oldest first
+    @Transactional(readOnly = true)
+    public List<MessageDTO> getRecentMessages(int conversationId, int limit) {
+        return getHistory(conversationId, null, null, limit).getMessages();
+    }
+
+    // No cursor: the latest window. before: the window just older than the cursor.
+    // after: the window just newer than the cursor (reconnect catch-up).
+    @Transactional(readOnly = true)
+    public MessageHistoryPageDTO getHistory(int conversationId, String before, String after, Integer limit) {
+        PageCursor beforeCursor = PageCursor.decode(before);
+        PageCursor afterCursor = PageCursor.decode(after);
+        if (beforeCursor != null && afterCursor != null) {
+            throw new RuntimeException("Use either before or after, not both");
+        }
+
+        int pageSize = PageCursor.clampLimit(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        // One extra row tells us whether there is more in the reading direction
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<Message> rows;
+        boolean hasOlder;
+        boolean hasNewer;
+        if (afterCursor != null) {
+            rows = messageRepository.findAfter(conversationId, afterCursor.getTimestamp(), afterCursor.getId(), window);
+            hasNewer = rows.size() > pageSize;
+            rows = trim(rows, pageSize);
+            // The cursor came from a message, so history reaches back at least that far
+            hasOlder = true;
+        } else {
+            rows = beforeCursor != null
+                    ? messageRepository.findBefore(conversationId, beforeCursor.getTimestamp(), beforeCursor.getId(), window)
+                    : messageRepository.findLatest(conversationId, window);
+            hasOlder = rows.size() > pageSize;
+            rows = new ArrayList<>(trim(rows, pageSize));
+            Collections.reverse(rows);
+            hasNewer = beforeCursor != null;
+        }
+
+        List<MessageDTO> messages = rows.stream().map(this::toDTO).collect(Collectors.toList());
+
+        // With nothing new the client keeps polling from the cursor it sent, and older
+        // history still continues from that same position
+        String olderCursor = afterCursor != null ? after : null;
+        String newerCursor = after;
+        if (!rows.isEmpty()) {
+            Message first = rows.get(0);
+            Message last = rows.get(rows.size() - 1);
+            olderCursor = PageCursor.encode(first.getCreatedAt(), first.getMessageId());
+            newerCursor = PageCursor.encode(last.getCreatedAt(), last.getMessageId());
+        }
+        return new MessageHistoryPageDTO(messages, hasOlder ? olderCursor : null, newerCursor,
+                hasOlder, hasNewer, pageSize);
+    }
+
+    // Convert Message entity to MessageDTO
+
+    public MessageDTO toDTO(Message message) {
+        MessageDTO dto = new MessageDTO();
+        dto.setMessageId(message.getMessageId());
+        dto.setConversationId(message.getConversation().getConversationId());
+        dto.setContent(message.getContent());
+        dto.setCreatedAt(message.getCreatedAt());
+        dto.setFormattedTime(formatTime(message.getCreatedAt()));
+        dto.setRead(message.isRead());
+
+        // Set sender information
+        if (message.getSenderUser() != null) {
+            dto.setSenderUserId(message.getSenderUser().getUserId());
+            dto.setSenderUserName(message.getSenderUser().getName());
+            dto.setSenderUserProfileImage(message.getSenderUser().getProfileImage());
+            dto.setSenderType("USER");
+        } else if (message.getSenderStaff() != null) {
+            dto.setSenderStaffId(message.getSenderStaff().getStaffId());
+            dto.setSenderStaffName(message.getSenderStaff().getName());
+            dto.setSenderStaffProfileImage(message.getSenderStaff().getProfileImage());
+            dto.setSenderType("STAFF");
+        }
+
+        return dto;
+    }
+
+    // Format time for display
+
+    private String formatTime(LocalDateTime time) {
+        return time.format(TIME_FORMAT);
+    }
+
+    private static List<Message> trim(List<Message> rows, int pageSize) {
+        return rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+    }
+}
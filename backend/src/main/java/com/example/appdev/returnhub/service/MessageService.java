@@ -1,6 +1,7 @@
 package com.example.appdev.returnhub.service;
 
 import com.example.appdev.returnhub.dto.MessageDTO;
+import com.example.appdev.returnhub.dto.MessageHistoryPageDTO;
 import com.example.appdev.returnhub.entity.Conversation;
 import com.example.appdev.returnhub.entity.Message;
 import com.example.appdev.returnhub.entity.Staff;
@@ -14,9 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class MessageService {
@@ -36,6 +35,9 @@ public class MessageService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private MessageHistoryService messageHistoryService;
+
     // ==================== MESSAGE MANAGEMENT ====================
 
     // Send a new message in a conversation
@@ -69,11 +71,7 @@ public class MessageService {
                     .orElseThrow(() -> new RuntimeException("User not found with id: " + senderUserId));
             message.setSenderUser(user);
 
-            // Send notification to staff
-            notificationService.createNewMessageNotification(
-                    conversation.getStaff().getStaffId(),
-                    conversationId,
-                    user.getName());
+            // Notifications belong to users only; staff see the message on the conversation topic
 
         } else if (senderStaffId != null) {
             // Message from staff
@@ -93,18 +91,28 @@ public class MessageService {
 
         // Save message
         Message savedMessage = messageRepository.save(message);
+        if (senderUserId != null) {
+            conversationRepository.recordMessageFromUser(conversationId, savedMessage.getMessageId(),
+                    savedMessage.getCreatedAt());
+        } else {
+            conversationRepository.recordMessageFromStaff(conversationId, savedMessage.getMessageId(),
+                    savedMessage.getCreatedAt());
+        }
 
         // Return as DTO
-        return convertToDTO(savedMessage);
+        return messageHistoryService.toDTO(savedMessage);
     }
 
     // Get all messages in a conversation
 
     public List<MessageDTO> getMessagesByConversationId(int conversationId) {
-        List<Message> messages = messageRepository.findByConversation_ConversationIdOrderByCreatedAtAsc(conversationId);
-        return messages.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return messageHistoryService.getAllMessages(conversationId);
+    }
+
+    // Get one window of the history (before/after cursors, see MessageHistoryService)
+
+    public MessageHistoryPageDTO getMessageHistory(int conversationId, String before, String after, Integer limit) {
+        return messageHistoryService.getHistory(conversationId, before, after, limit);
     }
 
     // Get specific message by ID
@@ -112,7 +120,7 @@ public class MessageService {
     public MessageDTO getMessageById(int messageId) {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found with id: " + messageId));
-        return convertToDTO(message);
+        return messageHistoryService.toDTO(message);
     }
 
     // Mark a message as read
@@ -122,8 +130,19 @@ public class MessageService {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found with id: " + messageId));
 
+        if (message.isRead()) {
+            return;
+        }
         message.setRead(true);
         messageRepository.save(message);
+
+        // Staff messages are counted on the user's side and vice versa
+        int conversationId = message.getConversation().getConversationId();
+        if (message.getSenderStaff() != null) {
+            conversationRepository.decrementUserUnreadCount(conversationId);
+        } else {
+            conversationRepository.decrementStaffUnreadCount(conversationId);
+        }
     }
 
     // Mark all messages in a conversation as read for a specific user/staff
@@ -134,18 +153,22 @@ public class MessageService {
             throw new RuntimeException("Only one of userId or staffId should be provided");
         }
 
+        // The counter is reset first so its row lock makes a concurrent send wait for this
+        // transaction; its message then stays unread and is counted again
         if (userId != null) {
             // User is reading, so mark messages from staff as read
+            conversationRepository.resetUserUnreadCount(conversationId);
             messageRepository.markMessagesAsRead(conversationId, true);
         } else if (staffId != null) {
             // Staff is reading, so mark messages from user as read
+            conversationRepository.resetStaffUnreadCount(conversationId);
             messageRepository.markMessagesAsRead(conversationId, false);
         } else {
             throw new RuntimeException("Either userId or staffId must be provided");
         }
     }
 
-    // Get unread message count for a conversation
+    // Get unread message count for a conversation (read from the denormalized counter)
 
     public long getUnreadCount(int conversationId, Integer userId, Integer staffId) {
         if (userId != null && staffId != null) {
@@ -153,9 +176,11 @@ public class MessageService {
         }
 
         if (userId != null) {
-            return messageRepository.countUnreadMessages(conversationId, true);
+            return conversationRepository.findUserUnreadCount(conversationId)
+                    .orElseThrow(() -> new RuntimeException("Conversation not found with id: " + conversationId));
         } else if (staffId != null) {
-            return messageRepository.countUnreadMessages(conversationId, false);
+            return conversationRepository.findStaffUnreadCount(conversationId)
+                    .orElseThrow(() -> new RuntimeException("Conversation not found with id: " + conversationId));
         } else {
             throw new RuntimeException("Either userId or staffId must be provided");
         }
@@ -176,52 +201,11 @@ public class MessageService {
     // Get recent messages with limit
 
     public List<MessageDTO> getRecentMessages(int conversationId, int limit) {
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0,
-                Math.max(1, limit));
-        List<Message> messages = messageRepository.findByConversation_ConversationIdOrderByCreatedAtDesc(conversationId,
-                pageable);
-        return messages.stream()
-                .map(this::convertToDTO)
-                .sorted((m1, m2) -> m1.getCreatedAt().compareTo(m2.getCreatedAt()))
-                .collect(Collectors.toList());
+        return messageHistoryService.getRecentMessages(conversationId, limit);
     }
 
     // ==================== HELPER METHODS ====================
 
-    // Convert Message entity to MessageDTO
-
-    private MessageDTO convertToDTO(Message message) {
-        MessageDTO dto = new MessageDTO();
-        dto.setMessageId(message.getMessageId());
-        dto.setConversationId(message.getConversation().getConversationId());
-        dto.setContent(message.getContent());
-        dto.setCreatedAt(message.getCreatedAt());
-        dto.setFormattedTime(formatTime(message.getCreatedAt()));
-        dto.setRead(message.isRead());
-
-        // Set sender information
-        if (message.getSenderUser() != null) {
-            dto.setSenderUserId(message.getSenderUser().getUserId());
-            dto.setSenderUserName(message.getSenderUser().getName());
-            dto.setSenderUserProfileImage(message.getSenderUser().getProfileImage());
-            dto.setSenderType("USER");
-        } else if (message.getSenderStaff() != null) {
-            dto.setSenderStaffId(message.getSenderStaff().getStaffId());
-            dto.setSenderStaffName(message.getSenderStaff().getName());
-            dto.setSenderStaffProfileImage(message.getSenderStaff().getProfileImage());
-            dto.setSenderType("STAFF");
-        }
-
-        return dto;
-    }
-
-    // Format time for display
-
-    private String formatTime(LocalDateTime time) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("hh:mm a");
-        return time.format(formatter);
-    }
-
     // Check if user can access message
 
     public boolean canAccessMessage(int messageId, int userId, String userType) {
@@ -0,0 +1,410 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.config.StompPrincipal;
+import com.example.appdev.returnhub.dto.WebSocketNotificationDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// In-memory outbox for user notifications. Write paths only enqueue (after their
+// transaction commits, so rolled-back work never notifies); a background worker
+// batch-inserts the rows with JDBC and pushes the WebSocket events once the
+// insert has committed. Keeps the notification INSERT and broker dispatch off
+// the request path.
+//
+// Coalesced notifications (chat messages) are folded per (recipient, related id):
+// within the coalesce window a new event bumps the existing unread row's count
+// and last_activity_at instead of inserting (created_at stays put: it is the
+// feed's keyset, so a bumped row keeps its place in the pages), and pushes for the same key are debounced
+// with a trailing push carrying the latest count.
+@Component
+public class NotificationOutbox {
+    public static final String USER_QUEUE = "/queue/notifications";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (user_id, message, is_read, created_at, type, related_id, event_count, " +
+            "last_activity_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Only touches the row while it is still unread; a read or deleted row starts a new one
+    private static final String COALESCE_SQL =
+            "UPDATE notifications SET event_count = ?, message = ?, last_activity_at = ? " +
+            "WHERE notification_id = ? AND is_read = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int batchSize;
+    private final long coalesceWindowMs;
+    private final long pushDebounceMs;
+
+    private final Queue<PendingNotification> queue = new ConcurrentLinkedQueue<>();
+
+    // Worker-only state (guarded by drain's lock): recent coalesce targets and debounced pushes
+    private final Map<String, CoalesceTarget> coalesceTargets = new HashMap<>();
+    private final Map<String, PushState> pushStates = new HashMap<>();
+
+    public NotificationOutbox(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              SimpMessagingTemplate messagingTemplate,
+                              @Value("${notifications.outbox.batch-size:200}") int batchSize,
+                              @Value("${notifications.message-coalesce-window-ms:600000}") long coalesceWindowMs,
+                              @Value("${notifications.push-debounce-ms:2000}") long pushDebounceMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.messagingTemplate = messagingTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.pushDebounceMs = pushDebounceMs;
+    }
+
+    // ==================== ENQUEUE ====================
+
+    public void enqueue(int userId, String message, String type, int relatedId, String relatedType) {
+        submit(new PendingNotification(userId, message, type, relatedId, relatedType, false, LocalDateTime.now()));
+    }
+
+    // Same as enqueue, but folded into the recipient's open notification for this type and related id
+    public void enqueueCoalesced(int userId, String message, String type, int relatedId, String relatedType) {
+        submit(new PendingNotification(userId, message, type, relatedId, relatedType, true, LocalDateTime.now()));
+    }
+
+    // Pushes a ready-made event to the user once the current transaction commits
+    public void sendAfterCommit(int userId, WebSocketNotificationDTO dto) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(userId, dto);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(userId, dto);
+            }
+        });
+    }
+
+    // Queues straight away, for callers that already run after their transaction committed
+    // (an afterCommit callback): a synchronization registered from there would never fire
+    void enqueueNow(int userId, String message, String type, int relatedId, String relatedType) {
+        queue.offer(new PendingNotification(userId, message, type, relatedId, relatedType, false, LocalDateTime.now()));
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void submit(PendingNotification pending) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queue.offer(pending);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queue.offer(pending);
+            }
+        });
+    }
+
+    // ==================== WORKER ====================
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.flush-ms:250}")
+    public void flush() {
+        drain(false);
+    }
+
+    // Flush whatever is still queued (and any held-back push) before the context closes
+    @PreDestroy
+    public void flushOnShutdown() {
+        drain(true);
+    }
+
+    private synchronized void drain(boolean shuttingDown) {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        PendingNotification next;
+        while ((next = queue.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == batchSize) {
+                writeAndPublish(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeAndPublish(batch);
+        }
+        flushTrailingPushes(shuttingDown);
+        expireCoalesceTargets();
+    }
+
+    private void writeAndPublish(List<PendingNotification> batch) {
+        // Fold coalescible events of the same key inside the batch first
+        List<PendingNotification> rows = new ArrayList<>();
+        Map<String, PendingNotification> folded = new LinkedHashMap<>();
+        for (PendingNotification pending : batch) {
+            if (pending.coalesce) {
+                folded.merge(pending.key(), pending, (earlier, later) -> later.absorb(earlier));
+            } else {
+                rows.add(pending);
+            }
+        }
+        rows.addAll(folded.values());
+
+        List<PendingNotification> written;
+        try {
+            written = transactionTemplate.execute(status -> write(rows));
+        } catch (Exception e) {
+            // One bad row (e.g. a deleted user) fails the whole batch; retry row by row
+            System.err.println("Notification batch write failed, retrying individually: " + e.getMessage());
+            written = new ArrayList<>();
+            for (PendingNotification pending : rows) {
+                try {
+                    written.addAll(transactionTemplate.execute(status -> write(List.of(pending))));
+                } catch (Exception rowError) {
+                    System.err.println("Dropping notification for user " + pending.userId + ": " + rowError.getMessage());
+                }
+            }
+        }
+
+        // Rows are committed at this point
+        long now = System.currentTimeMillis();
+        for (PendingNotification pending : written) {
+            if (pending.coalesce) {
+                coalesceTargets.put(pending.key(), new CoalesceTarget(pending.notificationId, pending.totalCount,
+                        pending.createdAt, now));
+                publishDebounced(pending, now);
+            } else {
+                publish(pending.userId, toDTO(pending));
+            }
+        }
+    }
+
+    // Updates open coalesce targets, then inserts everything that could not be folded
+    private List<PendingNotification> write(List<PendingNotification> rows) {
+        return jdbcTemplate.execute((ConnectionCallback<List<PendingNotification>>) connection -> {
+            long now = System.currentTimeMillis();
+            List<PendingNotification> updates = new ArrayList<>();
+            List<PendingNotification> inserts = new ArrayList<>();
+            for (PendingNotification pending : rows) {
+                CoalesceTarget target = pending.coalesce ? coalesceTargets.get(pending.key()) : null;
+                if (target != null && now - target.lastTouchedAt <= coalesceWindowMs) {
+                    pending.notificationId = target.notificationId;
+                    pending.totalCount = target.count + pending.count;
+                    pending.createdAt = target.createdAt;
+                    updates.add(pending);
+                } else {
+                    pending.totalCount = pending.count;
+                    inserts.add(pending);
+                }
+            }
+
+            if (!updates.isEmpty()) {
+                int[] counts = updateBatch(connection, updates);
+                for (int i = 0; i < updates.size(); i++) {
+                    // SUCCESS_NO_INFO counts as updated; 0 means the row was read or deleted meanwhile
+                    if (counts[i] == 0) {
+                        PendingNotification pending = updates.get(i);
+                        pending.totalCount = pending.count;
+                        pending.createdAt = pending.firstEventAt;
+                        inserts.add(pending);
+                    }
+                }
+            }
+            if (!inserts.isEmpty()) {
+                insertBatch(connection, inserts);
+            }
+            return rows;
+        });
+    }
+
+    private int[] updateBatch(Connection connection, List<PendingNotification> updates) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(COALESCE_SQL)) {
+            for (PendingNotification pending : updates) {
+                ps.setInt(1, pending.totalCount);
+                ps.setString(2, pending.displayMessage());
+                ps.setTimestamp(3, Timestamp.valueOf(pending.lastActivityAt));
+                ps.setInt(4, pending.notificationId);
+                ps.addBatch();
+            }
+            return ps.executeBatch();
+        }
+    }
+
+    private void insertBatch(Connection connection, List<PendingNotification> inserts) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (PendingNotification pending : inserts) {
+                ps.setInt(1, pending.userId);
+                ps.setString(2, pending.displayMessage());
+                ps.setBoolean(3, false);
+                ps.setTimestamp(4, Timestamp.valueOf(pending.createdAt));
+                ps.setString(5, pending.type);
+                ps.setInt(6, pending.relatedId);
+                ps.setInt(7, pending.totalCount);
+                ps.setTimestamp(8, Timestamp.valueOf(pending.lastActivityAt));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                int i = 0;
+                while (keys.next() && i < inserts.size()) {
+                    inserts.get(i++).notificationId = keys.getInt(1);
+                }
+            }
+        }
+    }
+
+    // ==================== PUSHES ====================
+
+    // First event of a burst goes out immediately; later ones wait for the debounce
+    // interval and only the latest state is pushed
+    private void publishDebounced(PendingNotification pending, long now) {
+        PushState state = pushStates.get(pending.key());
+        if (state == null || now - state.lastPushedAt >= pushDebounceMs) {
+            publish(pending.userId, toDTO(pending));
+            pushStates.put(pending.key(), new PushState(pending.userId, now));
+        } else {
+            state.held = toDTO(pending);
+        }
+    }
+
+    private void flushTrailingPushes(boolean force) {
+        long now = System.currentTimeMillis();
+        Iterator<PushState> states = pushStates.values().iterator();
+        while (states.hasNext()) {
+            PushState state = states.next();
+            boolean due = force || now - state.lastPushedAt >= pushDebounceMs;
+            if (!due) {
+                continue;
+            }
+            if (state.held != null) {
+                publish(state.userId, state.held);
+                state.held = null;
+                state.lastPushedAt = now;
+            } else {
+                states.remove();
+            }
+        }
+    }
+
+    private void expireCoalesceTargets() {
+        long now = System.currentTimeMillis();
+        coalesceTargets.values().removeIf(target -> now - target.lastTouchedAt > coalesceWindowMs);
+    }
+
+    private WebSocketNotificationDTO toDTO(PendingNotification pending) {
+        WebSocketNotificationDTO dto = new WebSocketNotificationDTO();
+        dto.setNotificationId(pending.notificationId);
+        dto.setMessage(pending.displayMessage());
+        dto.setType(pending.type);
+        dto.setRelatedId(pending.relatedId);
+        dto.setRelatedType(pending.relatedType);
+        dto.setCreatedAt(pending.createdAt);
+        dto.setLastActivityAt(pending.lastActivityAt);
+        dto.setRead(false);
+        dto.setCount(pending.totalCount);
+        return dto;
+    }
+
+    private void publish(int userId, WebSocketNotificationDTO dto) {
+        try {
+            messagingTemplate.convertAndSendToUser(StompPrincipal.userName(userId), USER_QUEUE, dto);
+        } catch (Exception e) {
+            System.err.println("Error pushing notification to user " + userId + ": " + e.getMessage());
+        }
+    }
+
+    private static class PendingNotification {
+        private final int userId;
+        private final String message;
+        private final String type;
+        private final int relatedId;
+        private final String relatedType;
+        private final boolean coalesce;
+        // firstEventAt/lastActivityAt: earliest and latest folded event; createdAt: the row's
+        // created_at (the open row's own when folded into it, else firstEventAt)
+        private LocalDateTime firstEventAt;
+        private LocalDateTime createdAt;
+        private final LocalDateTime lastActivityAt;
+        private int count = 1;
+        private int totalCount = 1;
+        private int notificationId;
+
+        private PendingNotification(int userId, String message, String type, int relatedId, String relatedType,
+                                    boolean coalesce, LocalDateTime createdAt) {
+            this.userId = userId;
+            this.message = message;
+            this.type = type;
+            this.relatedId = relatedId;
+            this.relatedType = relatedType;
+            this.coalesce = coalesce;
+            this.firstEventAt = createdAt;
+            this.createdAt = createdAt;
+            this.lastActivityAt = createdAt;
+        }
+
+        private String key() {
+            return userId + ":" + type + ":" + relatedId;
+        }
+
+        // Keeps this (later) event's text and activity time, adding the earlier event's count
+        // and taking its start time
+        private PendingNotification absorb(PendingNotification earlier) {
+            this.count += earlier.count;
+            this.firstEventAt = earlier.firstEventAt;
+            this.createdAt = earlier.firstEventAt;
+            return this;
+        }
+
+        private String displayMessage() {
+            return totalCount > 1 ? message + " (" + totalCount + ")" : message;
+        }
+    }
+
+    private static class CoalesceTarget {
+        private final int notificationId;
+        private final int count;
+        private final LocalDateTime createdAt;
+        private final long lastTouchedAt;
+
+        private CoalesceTarget(int notificationId, int count, LocalDateTime createdAt, long lastTouchedAt) {
+            this.notificationId = notificationId;
+            this.count = count;
+            this.createdAt = createdAt;
+            this.lastTouchedAt = lastTouchedAt;
+        }
+    }
+
+    private static class PushState {
+        private final int userId;
+        private long lastPushedAt;
+        private WebSocketNotificationDTO held;
+
+        private PushState(int userId, long lastPushedAt) {
+            this.userId = userId;
+            this.lastPushedAt = lastPushedAt;
+        }
+    }
+}
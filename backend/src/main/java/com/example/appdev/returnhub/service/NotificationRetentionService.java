@@ -0,0 +1,136 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.NotificationRetentionStatusDTO;
+import com.example.appdev.returnhub.repositor.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Keeps the notifications table bounded. Two rules, both only for read notifications:
+//   1. read notifications older than read-max-age-days are deleted
+//   2. each user keeps at most per-user-cap notifications; read ones past the cap are deleted
+// Deletes run in chunks of chunk-size rows, each committed on its own, so locks stay short.
+@Service
+public class NotificationRetentionService {
+    private final NotificationRepository notificationRepository;
+    private final boolean enabled;
+    private final int readMaxAgeDays;
+    private final int perUserCap;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Last-run figures, written by the running job only
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+    private volatile long lastAgeDeleted;
+    private volatile long lastCapDeleted;
+    private volatile int lastChunks;
+    private volatile String lastError;
+    private volatile long totalDeleted;
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        @Value("${notifications.retention.enabled:true}") boolean enabled,
+                                        @Value("${notifications.retention.read-max-age-days:90}") int readMaxAgeDays,
+                                        @Value("${notifications.retention.per-user-cap:500}") int perUserCap,
+                                        @Value("${notifications.retention.chunk-size:1000}") int chunkSize) {
+        this.notificationRepository = notificationRepository;
+        this.enabled = enabled;
+        this.readMaxAgeDays = readMaxAgeDays;
+        this.perUserCap = perUserCap;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Scheduled(initialDelayString = "${notifications.retention.interval-ms:3600000}",
+            fixedDelayString = "${notifications.retention.interval-ms:3600000}")
+    public void scheduledRun() {
+        if (enabled) {
+            runNow();
+        }
+    }
+
+    // Runs one retention pass unless one is already in progress; returns the resulting status
+    public NotificationRetentionStatusDTO runNow() {
+        if (!running.compareAndSet(false, true)) {
+            return getStatus();
+        }
+        lastStartedAt = LocalDateTime.now();
+        lastAgeDeleted = 0;
+        lastCapDeleted = 0;
+        lastChunks = 0;
+        lastError = null;
+        try {
+            if (readMaxAgeDays > 0) {
+                purgeByAge(LocalDateTime.now().minusDays(readMaxAgeDays));
+            }
+            if (perUserCap > 0) {
+                purgeOverCap();
+            }
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            System.err.println("Notification retention run failed: " + e.getMessage());
+        } finally {
+            lastFinishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+        return getStatus();
+    }
+
+    public NotificationRetentionStatusDTO getStatus() {
+        NotificationRetentionStatusDTO status = new NotificationRetentionStatusDTO();
+        status.setEnabled(enabled);
+        status.setRunning(running.get());
+        status.setReadMaxAgeDays(readMaxAgeDays);
+        status.setPerUserCap(perUserCap);
+        status.setChunkSize(chunkSize);
+        status.setLastStartedAt(lastStartedAt);
+        status.setLastFinishedAt(lastFinishedAt);
+        status.setLastAgeDeleted(lastAgeDeleted);
+        status.setLastCapDeleted(lastCapDeleted);
+        status.setLastChunks(lastChunks);
+        status.setLastError(lastError);
+        status.setTotalDeleted(totalDeleted);
+        return status;
+    }
+
+    private void purgeByAge(LocalDateTime cutoff) {
+        int deleted;
+        do {
+            deleted = notificationRepository.deleteReadOlderThan(cutoff, chunkSize);
+            recordChunk(deleted);
+            lastAgeDeleted += deleted;
+        } while (deleted == chunkSize);
+    }
+
+    private void purgeOverCap() {
+        List<Integer> userIds = notificationRepository.findUserIdsOverCap(perUserCap);
+        for (Integer userId : userIds) {
+            // The newest row outside the cap; everything read at or before it goes
+            List<Object[]> boundary = notificationRepository.findCapBoundary(userId, PageRequest.of(perUserCap, 1));
+            if (boundary.isEmpty()) {
+                continue;
+            }
+            LocalDateTime boundaryDate = (LocalDateTime) boundary.get(0)[0];
+            int boundaryId = (Integer) boundary.get(0)[1];
+
+            int deleted;
+            do {
+                deleted = notificationRepository.deleteReadAtOrBefore(userId, boundaryDate, boundaryId, chunkSize);
+                recordChunk(deleted);
+                lastCapDeleted += deleted;
+            } while (deleted == chunkSize);
+        }
+    }
+
+    private void recordChunk(int deleted) {
+        if (deleted > 0) {
+            lastChunks++;
+            totalDeleted += deleted;
+        }
+    }
+}
@@ -1,95 +1,72 @@
 package com.example.appdev.returnhub.service;
 
+import com.example.appdev.returnhub.dto.CursorPageDTO;
+import com.example.appdev.returnhub.dto.NotificationDTO;
 import com.example.appdev.returnhub.dto.WebSocketNotificationDTO;
 import com.example.appdev.returnhub.entity.Notification;
-import com.example.appdev.returnhub.entity.User;
 import com.example.appdev.returnhub.repositor.NotificationRepository;
 import com.example.appdev.returnhub.repositor.UserRepository;
 
 import jakarta.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 public class NotificationService {
+    public static final int DEFAULT_FEED_SIZE = 20;
+    public static final int MAX_FEED_SIZE = 100;
+
     @Autowired
     private NotificationRepository notificationRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private NotificationOutbox notificationOutbox;
 
     // ==================== NOTIFICATION CREATION METHODS ====================
+    // These only enqueue: NotificationOutbox inserts and pushes them after the caller commits
 
 //    Create notification for REPORT status change (approved/rejected)
 
-    @Transactional
     public void createReportStatusNotification(int userId, String reportType, String status, int reportId, String staffName) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-
         String message = String.format("Your %s report has been %s by staff %s",
                 reportType.toLowerCase(), status.toLowerCase(), staffName);
 
-        Notification notification = new Notification();
-        notification.setUser(user);
-        notification.setMessage(message);
-        notification.setRead(false);
-        notification.setCreatedAt(LocalDateTime.now());
-
-        Notification saved = notificationRepository.save(notification);
-
-        // s WebSocket notification
-        sendWebSocketNotification(userId, saved, "REPORT", reportId, reportType.toLowerCase());
+        notificationOutbox.enqueue(userId, message, "REPORT", reportId, reportType.toLowerCase());
     }
 
 //    Create notification for CLAIM status change (approved/rejected)
 
-    @Transactional
     public void createClaimStatusNotification(int userId, String itemType, String status, int claimId, String staffName) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-
         String message = String.format("Your claim for %s item has been %s by staff %s",
                 itemType.toLowerCase(), status.toLowerCase(), staffName);
 
-        Notification notification = new Notification();
-        notification.setUser(user);
-        notification.setMessage(message);
-        notification.setRead(false);
-        notification.setCreatedAt(LocalDateTime.now());
-
-        Notification saved = notificationRepository.save(notification);
-
-        // Sends WebSocket notification
-        sendWebSocketNotification(userId, saved, "CLAIM", claimId, itemType.toLowerCase());
+        notificationOutbox.enqueue(userId, message, "CLAIM", claimId, itemType.toLowerCase());
     }
 
 //    Create notification for NEW MESSAGE from staff
+//    Coalesced per conversation: a burst of messages updates one row's count and time
 
-    @Transactional
     public void createNewMessageNotification(int userId, int conversationId, String staffName) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-
         String message = String.format("New message from staff %s", staffName);
 
-        Notification notification = new Notification();
-        notification.setUser(user);
-        notification.setMessage(message);
-        notification.setRead(false);
-        notification.setCreatedAt(LocalDateTime.now());
+        notificationOutbox.enqueueCoalesced(userId, message, "MESSAGE", conversationId, "conversation");
+    }
+
+//    Create notification for possible MATCHES to a user's lost report
 
-        Notification saved = notificationRepository.save(notification);
+    public void createMatchNotification(int userId, int reportId, String itemName, int matchCount) {
+        String message = matchCount > 1
+                ? String.format("%d found items may match your lost report \"%s\"", matchCount, itemName)
+                : String.format("A found item may match your lost report \"%s\"", itemName);
 
-        // Sends WebSocket notification
-        sendWebSocketNotification(userId, saved, "MESSAGE", conversationId, "conversation");
+        // Only called from ReportMatchingService once the item change has committed
+        notificationOutbox.enqueueNow(userId, message, "MATCH", reportId, "lost");
     }
 
     // ==================== NOTIFICATION RETRIEVAL METHODS ====================
@@ -110,8 +87,33 @@ public class NotificationService {
 
 //    Get recent notifications (last 20, for initial sidebar load)
 
-    public List<Notification> getRecentNotifications(int userId, int limit) {
-        return notificationRepository.findTopNByUser_UserIdOrderByCreatedAtDesc(userId, limit);
+    public List<NotificationDTO> getRecentNotifications(int userId, int limit) {
+        return getNotificationFeed(userId, null, limit).getItems();
+    }
+
+//    Get one page of the notification feed, newest first (pass nextCursor to load older ones)
+
+    public CursorPageDTO<NotificationDTO> getNotificationFeed(int userId, String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit, DEFAULT_FEED_SIZE, MAX_FEED_SIZE);
+        PageCursor after = PageCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<NotificationDTO> rows = after == null
+                ? notificationRepository.findFeedFirstPage(userId, window)
+                : notificationRepository.findFeedPageAfter(userId, after.getTimestamp(), after.getId(), window);
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationDTO last = rows.get(rows.size() - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getNotificationId());
+        }
+        return new CursorPageDTO<>(rows, nextCursor, hasMore, pageSize);
     }
 
     // ==================== NOTIFICATION ACTION METHODS ====================
@@ -132,15 +134,13 @@ public class NotificationService {
     }
 
 
-//    Mark all notifications as read for a user
+//    Mark all notifications as read for a user (one UPDATE), returns the number of rows changed
 
     @Transactional
-    public void markAllAsRead(int userId) {
-        List<Notification> unreadNotifications = notificationRepository.findByUser_UserIdAndIsReadFalse(userId);
-        for (Notification notification : unreadNotifications) {
-            notification.setRead(true);
-        }
-        notificationRepository.saveAll(unreadNotifications);
+    public int markAllAsRead(int userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        pushUnreadCount(userId, notificationRepository.countByUser_UserIdAndIsReadFalse(userId));
+        return updated;
     }
 
 //    Delete a notification
@@ -157,64 +157,35 @@ public class NotificationService {
         notificationRepository.delete(notification);
     }
 
-//    Clear all notifications for a user
+//    Clear all notifications for a user (one DELETE), returns the number of rows removed
 
     @Transactional
-    public void clearAllNotifications(int userId) {
-        List<Notification> userNotifications = notificationRepository.findByUser_UserId(userId);
-        notificationRepository.deleteAll(userNotifications);
+    public int clearAllNotifications(int userId) {
+        int deleted = notificationRepository.deleteAllByUserId(userId);
+        pushUnreadCount(userId, 0);
+        return deleted;
     }
 
     // ==================== WEB SOCKET METHODS ====================
 
 
-//    Convert Notification entity to WebSocket DTO
+//    Push the user's new unread count (bell badge) once the change has committed
 
-    private WebSocketNotificationDTO convertToWebSocketDTO(Notification notification, String type, int relatedId, String relatedType) {
+    private void pushUnreadCount(int userId, long unreadCount) {
         WebSocketNotificationDTO dto = new WebSocketNotificationDTO();
-        dto.setNotificationId(notification.getNotificationId());
-        dto.setMessage(notification.getMessage());
-        dto.setType(type);
-        dto.setRelatedId(relatedId);
-        dto.setRelatedType(relatedType);
-        dto.setCreatedAt(notification.getCreatedAt());
-        dto.setRead(notification.isRead());
-        return dto;
-    }
-
-
-//    Send notification via WebSocket to specific user
-
-    private void sendWebSocketNotification(int userId, Notification notification, String type, int relatedId, String relatedType) {
-        WebSocketNotificationDTO dto = convertToWebSocketDTO(notification, type, relatedId, relatedType);
-
-        messagingTemplate.convertAndSendToUser(
-                String.valueOf(userId),
-                "/queue/notifications",
-                dto
-        );
+        dto.setType("UNREAD_COUNT");
+        dto.setRelatedType("notifications");
+        dto.setCreatedAt(LocalDateTime.now());
+        dto.setUnreadCount(unreadCount);
+        notificationOutbox.sendAfterCommit(userId, dto);
     }
 
 
 //    Send test notification (for development)
 
     public void sendTestNotification(int userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) return;
-
-        Notification notification = new Notification();
-        notification.setUser(userOpt.get());
-        notification.setMessage("Test notification from system");
-        notification.setRead(false);
-        notification.setCreatedAt(LocalDateTime.now());
-
-        Notification saved = notificationRepository.save(notification);
-
-        WebSocketNotificationDTO dto = convertToWebSocketDTO(saved, "SYSTEM", 0, "test");
-        messagingTemplate.convertAndSendToUser(
-                String.valueOf(userId),
-                "/queue/notifications",
-                dto
-        );
+        if (!userRepository.existsById(userId)) return;
+
+        notificationOutbox.enqueue(userId, "Test notification from system", "SYSTEM", 0, "test");
     }
-}
\ No newline at end of file
+}
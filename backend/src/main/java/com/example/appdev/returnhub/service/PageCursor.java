@@ -0,0 +1,62 @@
+package com.example.appdev.returnhub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque continuation token for keyset pagination on (timestamp, id).
+// Clients only pass it back; the format is free to change.
+public final class PageCursor {
+    private final LocalDateTime timestamp;
+    private final int id;
+
+    public PageCursor(LocalDateTime timestamp, int id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(LocalDateTime timestamp, int id) {
+        return new PageCursor(timestamp, id).encode();
+    }
+
+    // Returns null for a missing cursor (first page); throws on a malformed one
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep <= 0) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            LocalDateTime timestamp = LocalDateTime.parse(raw.substring(0, sep));
+            int id = Integer.parseInt(raw.substring(sep + 1));
+            return new PageCursor(timestamp, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    // Keeps page sizes inside [1, max], falling back to the default when unset
+    public static int clampLimit(Integer requested, int defaultLimit, int max) {
+        if (requested == null || requested <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(requested, max);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.config.StompPrincipal;
+import com.example.appdev.returnhub.dto.TypingIndicatorDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Who is connected, and who is typing where.
+// Presence: STOMP sessions are counted per principal from connect/disconnect events, so
+// "is staff 7 online" is a map lookup. In relay mode the (cluster-wide) user registry
+// covers sessions held by other nodes.
+// Typing: /app/chat.typing frames only update per (conversation, participant) state.
+// A change is broadcast at most once per min interval, a "typing" state that is not
+// refreshed within the TTL expires to "stopped", and disconnecting stops it at once.
+@Component
+public class PresenceService {
+    private final WebSocketMessagingService webSocketMessagingService;
+    private final SimpUserRegistry userRegistry;
+    private final long typingMinIntervalMs;
+    private final long typingTtlMs;
+
+    // Principal name -> open session ids, and the reverse for disconnects
+    private final Map<String, Set<String>> sessionsByPrincipal = new ConcurrentHashMap<>();
+    private final Map<String, String> principalBySession = new ConcurrentHashMap<>();
+
+    // "conversationId|USER:42" -> typing state; only mutated inside compute for its key
+    private final Map<String, TypingState> typingStates = new ConcurrentHashMap<>();
+
+    public PresenceService(WebSocketMessagingService webSocketMessagingService,
+                           SimpUserRegistry userRegistry,
+                           @Value("${chat.typing.min-interval-ms:1000}") long typingMinIntervalMs,
+                           @Value("${chat.typing.ttl-ms:5000}") long typingTtlMs) {
+        this.webSocketMessagingService = webSocketMessagingService;
+        this.userRegistry = userRegistry;
+        this.typingMinIntervalMs = typingMinIntervalMs;
+        this.typingTtlMs = typingTtlMs;
+    }
+
+    // ==================== PRESENCE ====================
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        Principal principal = event.getUser();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (!(principal instanceof StompPrincipal) || sessionId == null) {
+            return;
+        }
+        principalBySession.put(sessionId, principal.getName());
+        sessionsByPrincipal.compute(principal.getName(), (key, sessions) -> {
+            Set<String> open = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            open.add(sessionId);
+            return open;
+        });
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        String name = principalBySession.remove(event.getSessionId());
+        if (name == null) {
+            return;
+        }
+        boolean[] wentOffline = {false};
+        sessionsByPrincipal.computeIfPresent(name, (key, sessions) -> {
+            sessions.remove(event.getSessionId());
+            wentOffline[0] = sessions.isEmpty();
+            return sessions.isEmpty() ? null : sessions;
+        });
+        if (wentOffline[0]) {
+            stopTypingEverywhere(name);
+        }
+    }
+
+    public boolean isStaffOnline(int staffId) {
+        return isOnline(StompPrincipal.staffName(staffId));
+    }
+
+    public boolean isUserOnline(int userId) {
+        return isOnline(StompPrincipal.userName(userId));
+    }
+
+    private boolean isOnline(String principalName) {
+        return sessionsByPrincipal.containsKey(principalName) || userRegistry.getUser(principalName) != null;
+    }
+
+    // ==================== TYPING ====================
+
+    public void onTyping(int conversationId, String userType, int userId, String userName, boolean isTyping) {
+        String principalName = StompPrincipal.nameOf(userType, userId);
+        long now = System.currentTimeMillis();
+        String userTypeName = principalName.substring(0, principalName.indexOf(':'));
+        TypingIndicatorDTO[] due = {null};
+        typingStates.compute(conversationId + "|" + principalName, (key, existing) -> {
+            TypingState state = existing != null ? existing : new TypingState(conversationId, userId, userTypeName);
+            state.userName = userName;
+            state.wanted = isTyping;
+            state.expiresAt = isTyping ? now + typingTtlMs : 0;
+            due[0] = transitionIfDue(state, now);
+            return state;
+        });
+        send(due[0]);
+    }
+
+    // Sends held-back transitions once their interval has passed, expires stale "typing"
+    // states and drops entries that have settled on "stopped"
+    @Scheduled(fixedDelayString = "${chat.typing.sweep-ms:1000}")
+    public void sweepTyping() {
+        long now = System.currentTimeMillis();
+        for (String key : typingStates.keySet()) {
+            TypingIndicatorDTO[] due = {null};
+            typingStates.computeIfPresent(key, (k, state) -> {
+                if (state.wanted && now >= state.expiresAt) {
+                    state.wanted = false;
+                }
+                due[0] = transitionIfDue(state, now);
+                // Keep a settled entry until its interval is over, so it still rate-limits a restart
+                boolean settled = !state.wanted && !state.emitted && now - state.lastEmittedAt >= typingMinIntervalMs;
+                return settled ? null : state;
+            });
+            send(due[0]);
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private void stopTypingEverywhere(String principalName) {
+        String suffix = "|" + principalName;
+        long now = System.currentTimeMillis();
+        for (String key : typingStates.keySet()) {
+            if (!key.endsWith(suffix)) {
+                continue;
+            }
+            TypingIndicatorDTO[] due = {null};
+            typingStates.computeIfPresent(key, (k, state) -> {
+                state.wanted = false;
+                // Leaving is final: don't hold the "stopped" event back
+                state.lastEmittedAt = 0;
+                due[0] = transitionIfDue(state, now);
+                return null;
+            });
+            send(due[0]);
+        }
+    }
+
+    // Records and returns the pending transition if the interval allows it (null otherwise)
+    private TypingIndicatorDTO transitionIfDue(TypingState state, long now) {
+        if (state.wanted == state.emitted || now - state.lastEmittedAt < typingMinIntervalMs) {
+            return null;
+        }
+        state.emitted = state.wanted;
+        state.lastEmittedAt = now;
+        return new TypingIndicatorDTO(state.conversationId, state.userId, state.userType, state.userName,
+                state.emitted, now);
+    }
+
+    // Broadcast outside the map's lock
+    private void send(TypingIndicatorDTO indicator) {
+        if (indicator != null) {
+            webSocketMessagingService.sendTypingIndicator(indicator);
+        }
+    }
+
+    private static class TypingState {
+        private final int conversationId;
+        private final int userId;
+        private final String userType;
+        private String userName;
+        // What the participant last told us, and what subscribers last heard
+        private boolean wanted;
+        private boolean emitted;
+        private long expiresAt;
+        private long lastEmittedAt;
+
+        private TypingState(int conversationId, int userId, String userType) {
+            this.conversationId = conversationId;
+            this.userId = userId;
+            this.userType = userType;
+        }
+    }
+}
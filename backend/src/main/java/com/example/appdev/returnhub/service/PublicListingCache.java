@@ -0,0 +1,192 @@
+package com.example.appdev.returnhub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Versioned in-process cache of the rendered public lost/found listings.
+// Each side ("lost", "found") has a version that the write paths bump after commit;
+// an entry is only served while its version is current, so invalidation is O(1) and
+// stale pages simply age out of the bounded LRU. The version doubles as the ETag.
+// With several nodes, invalidations are also sent over the ClusterEventBus.
+@Component
+public class PublicListingCache {
+    private final ClusterEventBus clusterEventBus;
+    private final int maxEntries;
+    // Distinguishes versions across restarts, so an old ETag never matches a new process
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = Map.of("lost", new AtomicLong(), "found", new AtomicLong());
+
+    // Access-ordered, guarded by itself
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public PublicListingCache(ClusterEventBus clusterEventBus,
+                              @Value("${listings.cache.max-entries:256}") int maxEntries) {
+        this.clusterEventBus = clusterEventBus;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > PublicListingCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        clusterEventBus.subscribe("listings", types -> types.forEach(this::invalidateLocally));
+        clusterEventBus.onResync(() -> invalidateLocally(null));
+    }
+
+    // ==================== READS ====================
+
+    // Returns the cached value for the key if it was rendered at the current version,
+    // otherwise renders it with the loader (outside the lock) and caches it
+    @SuppressWarnings("unchecked")
+    public <T> T get(String type, String key, Supplier<T> loader) {
+        String side = side(type);
+        long version = versions.get(side).get();
+        String cacheKey = side + "|" + key;
+
+        synchronized (entries) {
+            Entry entry = entries.get(cacheKey);
+            if (entry != null && entry.version == version) {
+                hits.increment();
+                return (T) entry.value;
+            }
+        }
+
+        misses.increment();
+        T value = loader.get();
+        synchronized (entries) {
+            // A write may have committed while we were loading; don't overwrite a newer render
+            Entry existing = entries.get(cacheKey);
+            if (existing == null || existing.version < version) {
+                entries.put(cacheKey, new Entry(version, value));
+            }
+        }
+        return value;
+    }
+
+    // Strong ETag for the side's current version. Take it before loading the page, so it
+    // never claims a version newer than the content it is sent with.
+    public String currentETag(String type) {
+        String side = side(type);
+        return "\"" + side + "-" + epoch + "-" + versions.get(side).get() + "\"";
+    }
+
+    // True when the client's If-None-Match already names the current version
+    public boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                notModified.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== INVALIDATION ====================
+
+    // Bumps the side's version once the surrounding transaction commits (immediately if
+    // there is none). A null or unknown type invalidates both sides.
+    public void invalidateAfterCommit(String type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(type);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(type);
+            }
+        });
+    }
+
+    // Invalidates here and on the other nodes
+    public void invalidate(String type) {
+        String normalized = type == null ? "" : type.trim().toLowerCase();
+        invalidateLocally(normalized);
+        clusterEventBus.publish("listings", List.of(normalized));
+    }
+
+    private void invalidateLocally(String type) {
+        String normalized = type == null ? "" : type.trim().toLowerCase();
+        if (versions.containsKey(normalized)) {
+            bump(normalized);
+        } else {
+            versions.keySet().forEach(this::bump);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : Math.round(hitCount * 1000.0 / total) / 1000.0);
+        stats.put("notModified", notModified.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("maxEntries", maxEntries);
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("lostVersion", versions.get("lost").get());
+        stats.put("foundVersion", versions.get("found").get());
+        return stats;
+    }
+
+    // ==================== HELPERS ====================
+
+    private void bump(String side) {
+        versions.get(side).incrementAndGet();
+        invalidations.increment();
+        String prefix = side + "|";
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    private String side(String type) {
+        String normalized = type == null ? "" : type.trim().toLowerCase();
+        if (!versions.containsKey(normalized)) {
+            throw new IllegalArgumentException("Unknown listing type: " + type);
+        }
+        return normalized;
+    }
+
+    private static class Entry {
+        private final long version;
+        private final Object value;
+
+        private Entry(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
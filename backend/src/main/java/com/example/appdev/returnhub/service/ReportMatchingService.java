@@ -0,0 +1,317 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.MatchResultDTO;
+import com.example.appdev.returnhub.entity.FoundItem;
+import com.example.appdev.returnhub.entity.LostItem;
+import com.example.appdev.returnhub.entity.SubmittedReport;
+import com.example.appdev.returnhub.repositor.FoundItemRepository;
+import com.example.appdev.returnhub.repositor.LostItemRepository;
+import com.example.appdev.returnhub.repositor.SubmittedReportRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Matches lost reports against found items (and vice versa) using the in-memory
+// ItemIndex over the active items. Seeds the index at startup and keeps it current
+// from the item status hooks after each commit; a lookup only walks the postings
+// of the query's own tokens. With several nodes, changes are also sent over the
+// ClusterEventBus; other nodes re-read the report and update their index without
+// announcing (the originating node already did).
+//
+// Score (0..1) = 0.50 token overlap (IDF-weighted) + 0.20 same category
+//              + 0.15 date proximity (linear over 30 days) + 0.15 location overlap
+@Service
+public class ReportMatchingService {
+    public static final String STAFF_MATCH_TOPIC = "/topic/staff/matches";
+
+    private static final double TOKEN_WEIGHT = 0.50;
+    private static final double CATEGORY_WEIGHT = 0.20;
+    private static final double DATE_WEIGHT = 0.15;
+    private static final double LOCATION_WEIGHT = 0.15;
+    private static final double DATE_WINDOW_DAYS = 30.0;
+    // Tokens found in more than this share of one side carry no signal and are not walked
+    private static final double MAX_POSTING_SHARE = 0.25;
+
+    private final LostItemRepository lostItemRepository;
+    private final FoundItemRepository foundItemRepository;
+    private final SubmittedReportRepository submittedReportRepository;
+    private final NotificationService notificationService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ItemIndex itemIndex;
+    private final ClusterEventBus clusterEventBus;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double minScore;
+    private final double notifyScore;
+    private final int notifyTopK;
+
+    public ReportMatchingService(LostItemRepository lostItemRepository,
+                                 FoundItemRepository foundItemRepository,
+                                 SubmittedReportRepository submittedReportRepository,
+                                 NotificationService notificationService,
+                                 SimpMessagingTemplate messagingTemplate,
+                                 ItemIndex itemIndex,
+                                 ClusterEventBus clusterEventBus,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${matching.min-score:0.25}") double minScore,
+                                 @Value("${matching.notify-score:0.45}") double notifyScore,
+                                 @Value("${matching.notify-top-k:3}") int notifyTopK) {
+        this.lostItemRepository = lostItemRepository;
+        this.foundItemRepository = foundItemRepository;
+        this.submittedReportRepository = submittedReportRepository;
+        this.notificationService = notificationService;
+        this.messagingTemplate = messagingTemplate;
+        this.itemIndex = itemIndex;
+        this.clusterEventBus = clusterEventBus;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minScore = minScore;
+        this.notifyScore = notifyScore;
+        this.notifyTopK = notifyTopK;
+        clusterEventBus.subscribe("items", reportIds -> reportIds.forEach(id -> refreshFromDatabase(Integer.parseInt(id))));
+        clusterEventBus.onResync(() -> readOnlyTransaction.executeWithoutResult(status -> seed()));
+    }
+
+    // ==================== SEEDING ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        List<IndexedItem> items = new ArrayList<>();
+        for (LostItem item : lostItemRepository.findActiveWithReport()) {
+            items.add(new IndexedItem(item.getSubmittedReport(), item.getItemId(), item.getCreatedAt()));
+        }
+        for (FoundItem item : foundItemRepository.findActiveWithReport()) {
+            items.add(new IndexedItem(item.getSubmittedReport(), item.getItemId(), item.getCreatedAt()));
+        }
+        itemIndex.replaceAll(items);
+    }
+
+    // ==================== WRITE-PATH HOOK ====================
+
+    // Called whenever a lost/found item's status changes (or the item is created/deleted,
+    // with a null status for deletes). Active items are (re)indexed, anything else is
+    // removed. Applied after commit; newly listed items are then matched and announced.
+    public void itemStatusChanged(SubmittedReport report, int itemId, LocalDateTime listedAt, String newStatus) {
+        int reportId = report.getReportId();
+        IndexedItem snapshot = "active".equalsIgnoreCase(newStatus) ? new IndexedItem(report, itemId, listedAt) : null;
+
+        Runnable apply = () -> {
+            if (snapshot == null) {
+                itemIndex.remove(reportId);
+            } else if (itemIndex.put(snapshot) == null) {
+                announceMatches(snapshot);
+            }
+            clusterEventBus.publish("items", List.of(String.valueOf(reportId)));
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    // Applies a change committed on another node: indexes the report's item if it is
+    // active, otherwise drops it
+    private void refreshFromDatabase(int reportId) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            LostItem lost = lostItemRepository.findBySubmittedReport_ReportId(reportId);
+            FoundItem found = lost == null ? foundItemRepository.findBySubmittedReport_ReportId(reportId) : null;
+            if (lost != null && "active".equalsIgnoreCase(lost.getStatus())) {
+                itemIndex.put(new IndexedItem(lost.getSubmittedReport(), lost.getItemId(), lost.getCreatedAt()));
+            } else if (found != null && "active".equalsIgnoreCase(found.getStatus())) {
+                itemIndex.put(new IndexedItem(found.getSubmittedReport(), found.getItemId(), found.getCreatedAt()));
+            } else {
+                itemIndex.remove(reportId);
+            }
+        });
+    }
+
+    // ==================== QUERIES ====================
+
+    // Top-k counterparts for a report. Uses the indexed snapshot when the report's item is
+    // active, otherwise reads the report (e.g. a pending one a staff member is reviewing).
+    @Transactional(readOnly = true)
+    public List<MatchResultDTO> findMatchesForReport(int reportId, int limit) {
+        IndexedItem query = itemIndex.read(view -> view.get(reportId));
+        if (query == null) {
+            SubmittedReport report = submittedReportRepository.findById(reportId)
+                    .orElseThrow(() -> new RuntimeException("Report not found with id: " + reportId));
+            query = new IndexedItem(report, 0, null);
+        }
+        return findMatches(query, limit);
+    }
+
+    public List<MatchResultDTO> findMatches(IndexedItem query, int limit) {
+        int k = Math.max(1, Math.min(limit, 50));
+        String counterpartType = "lost".equals(query.getType()) ? "found"
+                : "found".equals(query.getType()) ? "lost" : null;
+        if (counterpartType == null) {
+            return Collections.emptyList();
+        }
+        return itemIndex.read(view -> {
+            int sideSize = view.sideSize(counterpartType);
+            if (sideSize == 0) {
+                return Collections.<MatchResultDTO>emptyList();
+            }
+
+            // Accumulate IDF-weighted token overlap over the postings of the query's tokens
+            Map<Integer, Double> overlap = new HashMap<>();
+            double queryWeight = 0;
+            int maxPosting = Math.max(50, (int) (sideSize * MAX_POSTING_SHARE));
+            for (String token : query.getTokens()) {
+                Set<Integer> posting = view.posting(counterpartType, token);
+                double idf = Math.log(1.0 + (double) sideSize / (1 + posting.size()));
+                queryWeight += idf;
+                if (posting.isEmpty() || posting.size() > maxPosting) {
+                    continue;
+                }
+                for (Integer candidateId : posting) {
+                    overlap.merge(candidateId, idf, Double::sum);
+                }
+            }
+            if (overlap.isEmpty() || queryWeight == 0) {
+                return Collections.<MatchResultDTO>emptyList();
+            }
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble(sc -> sc.score));
+            for (Map.Entry<Integer, Double> entry : overlap.entrySet()) {
+                IndexedItem candidate = view.get(entry.getKey());
+                if (candidate == null || candidate.getReportId() == query.getReportId()
+                        || (query.getSubmitterUserId() != 0 && candidate.getSubmitterUserId() == query.getSubmitterUserId())) {
+                    continue;
+                }
+                double score = score(query, candidate, entry.getValue() / queryWeight);
+                if (score < minScore) {
+                    continue;
+                }
+                top.offer(new Scored(candidate, score));
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+
+            List<MatchResultDTO> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Scored scored = top.poll();
+                IndexedItem item = scored.item;
+                results.add(new MatchResultDTO(item.getReportId(), item.getItemId(), item.getType(), item.getItemName(),
+                        item.getCategory(), item.getLocation(), item.getDateOfEvent(), item.getPhotoUrl(),
+                        Math.round(scored.score * 1000) / 1000.0));
+            }
+            Collections.reverse(results);
+            return results;
+        });
+    }
+
+    public Map<String, Integer> getIndexStats() {
+        return itemIndex.getStats();
+    }
+
+    // ==================== HELPERS ====================
+
+    private double score(IndexedItem query, IndexedItem candidate, double tokenScore) {
+        double category = query.getCategory() != null && query.getCategory().equalsIgnoreCase(candidate.getCategory())
+                ? 1.0 : 0.0;
+
+        double date = 0.0;
+        if (query.getDateOfEvent() != null && candidate.getDateOfEvent() != null) {
+            // An item cannot be found (much) before it was lost
+            IndexedItem lost = "lost".equals(query.getType()) ? query : candidate;
+            IndexedItem found = lost == query ? candidate : query;
+            long gap = ChronoUnit.DAYS.between(lost.getDateOfEvent(), found.getDateOfEvent());
+            if (gap >= -1) {
+                date = Math.max(0.0, 1.0 - Math.abs(gap) / DATE_WINDOW_DAYS);
+            }
+        }
+
+        double location = jaccard(query.getLocationTokens(), candidate.getLocationTokens());
+
+        return TOKEN_WEIGHT * Math.min(1.0, tokenScore) + CATEGORY_WEIGHT * category
+                + DATE_WEIGHT * date + LOCATION_WEIGHT * location;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int shared = 0;
+        for (String token : smaller) {
+            if (larger.contains(token)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    // Tells the owners of the lost side about strong matches and pushes the list to staff
+    private void announceMatches(IndexedItem item) {
+        try {
+            List<MatchResultDTO> matches = findMatches(item, notifyTopK);
+            if (matches.isEmpty()) {
+                return;
+            }
+            messagingTemplate.convertAndSend(STAFF_MATCH_TOPIC,
+                    Map.of("reportId", item.getReportId(), "type", item.getType(), "matches", matches));
+
+            List<MatchResultDTO> strong = new ArrayList<>();
+            for (MatchResultDTO match : matches) {
+                if (match.getScore() >= notifyScore) {
+                    strong.add(match);
+                }
+            }
+            if (strong.isEmpty()) {
+                return;
+            }
+            if ("lost".equals(item.getType())) {
+                notificationService.createMatchNotification(item.getSubmitterUserId(), item.getReportId(),
+                        item.getItemName(), strong.size());
+            } else {
+                for (MatchResultDTO match : strong) {
+                    IndexedItem lost = itemIndex.read(view -> view.get(match.getReportId()));
+                    if (lost != null) {
+                        notificationService.createMatchNotification(lost.getSubmitterUserId(), lost.getReportId(),
+                                lost.getItemName(), 1);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error announcing matches for report " + item.getReportId() + ": " + e.getMessage());
+        }
+    }
+
+    private static class Scored {
+        private final IndexedItem item;
+        private final double score;
+
+        private Scored(IndexedItem item, double score) {
+            this.item = item;
+            this.score = score;
+        }
+    }
+}
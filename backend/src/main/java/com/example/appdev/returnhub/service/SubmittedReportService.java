@@ -1,5 +1,6 @@
 package com.example.appdev.returnhub.service;
 
+import com.example.appdev.returnhub.dto.CursorPageDTO;
 import com.example.appdev.returnhub.dto.SubmittedReportRequestDTO;
 import com.example.appdev.returnhub.dto.SubmittedReportResponseDTO;
 import com.example.appdev.returnhub.dto.ReportStatusUpdateDTO;
@@ -10,6 +11,7 @@ import com.example.appdev.returnhub.repositor.SubmittedReportRepository;
 import com.example.appdev.returnhub.repositor.UserRepository;
 import com.example.appdev.returnhub.repositor.StaffRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +24,9 @@ import java.util.stream.Collectors;
 @Service
 public class SubmittedReportService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private SubmittedReportRepository submittedReportRepository;
     @Autowired
@@ -38,7 +43,14 @@ public class SubmittedReportService {
     private com.example.appdev.returnhub.repositor.LostItemRepository lostItemRepository;
     @Autowired
     private NotificationService notificationService;
+    @Autowired
+    private DashboardCounterStore dashboardCounterStore;
+    @Autowired
+    private ReportMatchingService reportMatchingService;
+    @Autowired
+    private PublicListingCache publicListingCache;
 
+    @Transactional
     public SubmittedReportResponseDTO createReport(SubmittedReportRequestDTO requestDTO) {
         if (requestDTO == null || requestDTO.getSubmitterUserId() == 0) {
             throw new RuntimeException("Invalid request: submitterUserId is required");
@@ -82,6 +94,7 @@ public class SubmittedReportService {
 
         // Save the report
         SubmittedReport savedReport = submittedReportRepository.save(report);
+        dashboardCounterStore.reportChanged(savedReport.getType(), null, savedReport.getStatus());
 
         // Convert to response DTO
         return convertToResponseDTO(savedReport);
@@ -89,15 +102,49 @@ public class SubmittedReportService {
 
     // Get all reports
     public List<SubmittedReportResponseDTO> getAllReports() {
-        List<SubmittedReport> reports = submittedReportRepository.findAll();
+        List<SubmittedReport> reports = submittedReportRepository.findAllWithParticipants();
         return reports.stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    // Get one page of reports, newest first, continuing after the given cursor
+    public CursorPageDTO<SubmittedReportResponseDTO> getReportsPage(String status, String type, String category,
+                                                                    String cursor, Integer limit) {
+        int pageSize = PageCursor.clampLimit(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        PageCursor after = PageCursor.decode(cursor);
+
+        String statusFilter = normalizeFilter(status);
+        String typeFilter = normalizeFilter(type);
+        String categoryFilter = category != null && !category.isBlank() ? category.trim() : null;
+
+        // Fetch one extra row to know whether another page exists
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<SubmittedReport> rows = after == null
+                ? submittedReportRepository.findFirstPage(statusFilter, typeFilter, categoryFilter, window)
+                : submittedReportRepository.findPageAfter(statusFilter, typeFilter, categoryFilter,
+                        after.getTimestamp(), after.getId(), window);
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            SubmittedReport last = rows.get(rows.size() - 1);
+            nextCursor = PageCursor.encode(last.getDateSubmitted(), last.getReportId());
+        }
+
+        List<SubmittedReportResponseDTO> items = rows.stream()
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor, hasMore, pageSize);
+    }
+
     // Get report by ID
     public SubmittedReportResponseDTO getReportById(int reportId) {
-        SubmittedReport report = submittedReportRepository.findById(reportId)
+        SubmittedReport report = submittedReportRepository.findWithParticipantsByReportId(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found with id: " + reportId));
         return convertToResponseDTO(report);
     }
@@ -137,6 +184,7 @@ public class SubmittedReportService {
                         () -> new RuntimeException("Staff not found with id: " + statusUpdateDTO.getReviewerStaffId()));
 
         // Update report
+        String previousStatus = report.getStatus();
         report.setStatus(statusUpdateDTO.getStatus());
         report.setReviewerStaff(reviewerStaff);
         report.setDateReviewed(LocalDateTime.now());
@@ -146,6 +194,7 @@ public class SubmittedReportService {
         }
 
         SubmittedReport updatedReport = submittedReportRepository.save(report);
+        dashboardCounterStore.reportChanged(updatedReport.getType(), previousStatus, updatedReport.getStatus());
 
         // Send notification for key status changes
         if ("approved".equalsIgnoreCase(statusUpdateDTO.getStatus()) ||
@@ -165,14 +214,20 @@ public class SubmittedReportService {
             if ("lost".equalsIgnoreCase(updatedReport.getType())) {
                 LostItem li = lostItemRepository.findBySubmittedReport_ReportId(reportId);
                 if (li != null) {
+                    dashboardCounterStore.lostItemChanged(li.getStatus(), "archived");
                     li.setStatus("archived");
                     lostItemRepository.save(li);
+                    reportMatchingService.itemStatusChanged(report, li.getItemId(), li.getCreatedAt(), "archived");
+                    publicListingCache.invalidateAfterCommit("lost");
                 }
             } else if ("found".equalsIgnoreCase(updatedReport.getType())) {
                 FoundItem fi = foundItemRepository.findBySubmittedReport_ReportId(reportId);
                 if (fi != null) {
+                    dashboardCounterStore.foundItemChanged(fi.getStatus(), "archived");
                     fi.setStatus("archived");
                     foundItemRepository.save(fi);
+                    reportMatchingService.itemStatusChanged(report, fi.getItemId(), fi.getCreatedAt(), "archived");
+                    publicListingCache.invalidateAfterCommit("found");
                 }
             }
         } else if ("published".equalsIgnoreCase(statusUpdateDTO.getStatus())) {
@@ -180,16 +235,22 @@ public class SubmittedReportService {
             if ("lost".equalsIgnoreCase(updatedReport.getType())) {
                 LostItem li = lostItemRepository.findBySubmittedReport_ReportId(reportId);
                 if (li != null) {
+                    dashboardCounterStore.lostItemChanged(li.getStatus(), "active");
                     li.setStatus("active");
                     lostItemRepository.save(li);
+                    reportMatchingService.itemStatusChanged(report, li.getItemId(), li.getCreatedAt(), "active");
+                    publicListingCache.invalidateAfterCommit("lost");
                 } else {
                     lostItemService.createLostItemFromReport(report, reviewerStaff);
                 }
             } else if ("found".equalsIgnoreCase(updatedReport.getType())) {
                 FoundItem fi = foundItemRepository.findBySubmittedReport_ReportId(reportId);
                 if (fi != null) {
+                    dashboardCounterStore.foundItemChanged(fi.getStatus(), "active");
                     fi.setStatus("active");
                     foundItemRepository.save(fi);
+                    reportMatchingService.itemStatusChanged(report, fi.getItemId(), fi.getCreatedAt(), "active");
+                    publicListingCache.invalidateAfterCommit("found");
                 } else {
                     foundItemService.createFoundItemFromReport(report, reviewerStaff);
                 }
@@ -202,24 +263,30 @@ public class SubmittedReportService {
     // Delete report - FIXED: Handles constraint violations by deleting children first
     @Transactional
     public void deleteReport(int reportId) {
-        if (!submittedReportRepository.existsById(reportId)) {
-            throw new RuntimeException("Report not found with id: " + reportId);
-        }
+        SubmittedReport report = submittedReportRepository.findById(reportId)
+                .orElseThrow(() -> new RuntimeException("Report not found with id: " + reportId));
 
         // 1. Delete associated LostItem if it exists
         LostItem lostItem = lostItemRepository.findBySubmittedReport_ReportId(reportId);
         if (lostItem != null) {
+            dashboardCounterStore.lostItemChanged(lostItem.getStatus(), null);
+            reportMatchingService.itemStatusChanged(report, lostItem.getItemId(), lostItem.getCreatedAt(), null);
+            publicListingCache.invalidateAfterCommit("lost");
             lostItemRepository.delete(lostItem);
         }
 
         // 2. Delete associated FoundItem if it exists
         FoundItem foundItem = foundItemRepository.findBySubmittedReport_ReportId(reportId);
         if (foundItem != null) {
+            dashboardCounterStore.foundItemChanged(foundItem.getStatus(), null);
+            reportMatchingService.itemStatusChanged(report, foundItem.getItemId(), foundItem.getCreatedAt(), null);
+            publicListingCache.invalidateAfterCommit("found");
             foundItemRepository.delete(foundItem);
         }
 
         // 3. Finally delete the report
-        submittedReportRepository.deleteById(reportId);
+        dashboardCounterStore.reportChanged(report.getType(), report.getStatus(), null);
+        submittedReportRepository.delete(report);
     }
 
     // Helper method to create LostItem or FoundItem when report is approved
@@ -231,6 +298,11 @@ public class SubmittedReportService {
         }
     }
 
+    // Status and type are stored lower-case; blank means "no filter"
+    private String normalizeFilter(String value) {
+        return value != null && !value.isBlank() ? value.trim().toLowerCase() : null;
+    }
+
     // Convert entity to response DTO
     private SubmittedReportResponseDTO convertToResponseDTO(SubmittedReport report) {
         SubmittedReportResponseDTO dto = new SubmittedReportResponseDTO();
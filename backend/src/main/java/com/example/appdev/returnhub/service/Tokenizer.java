@@ -0,0 +1,42 @@
+package com.example.appdev.returnhub.service;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Shared text normalization for the item index: lower-case alphanumeric words,
+// common stop words dropped, and a naive plural strip ("keys" -> "key").
+public final class Tokenizer {
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "in", "on", "at", "to", "for", "with", "by", "from",
+            "is", "it", "its", "was", "were", "be", "my", "i", "me", "this", "that", "has", "have",
+            "had", "or", "but", "near", "around", "some", "color", "colour", "item", "staff", "notes");
+
+    private Tokenizer() {}
+
+    public static Set<String> tokenize(String... texts) {
+        Set<String> tokens = new HashSet<>();
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+                String token = normalize(word);
+                if (token != null) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String word) {
+        if (word.length() < 2 || STOP_WORDS.contains(word)) {
+            return null;
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.appdev.returnhub.service;
 
+import com.example.appdev.returnhub.config.StompPrincipal;
 import com.example.appdev.returnhub.dto.MessageDTO;
+import com.example.appdev.returnhub.dto.TypingIndicatorDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpSubscription;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -14,50 +20,53 @@ public class WebSocketMessagingService {
     private SimpMessagingTemplate messagingTemplate;
 
     @Autowired
-    private ConversationService conversationService;
+    private ConversationParticipantCache participantCache;
+
+    @Autowired
+    private SimpUserRegistry userRegistry;
 
 //    Send message via WebSocket
 
     public void sendMessageViaWebSocket(int conversationId, MessageDTO messageDTO) {
+        String topic = "/topic/conversation/" + conversationId;
+
         // Send to conversation topic
-        messagingTemplate.convertAndSend(
-                "/topic/conversation/" + conversationId,
-                messageDTO
-        );
+        messagingTemplate.convertAndSend(topic, messageDTO);
 
-        // Also send to user's private queue for notifications
-        if ("STAFF".equals(messageDTO.getSenderType())) {
-            // Message from staff, notify user
-            messagingTemplate.convertAndSendToUser(
-                    String.valueOf(messageDTO.getSenderStaffId()),
-                    "/queue/messages",
-                    messageDTO
-            );
-        } else if ("USER".equals(messageDTO.getSenderType())) {
-            // Message from user, notify staff
-            messagingTemplate.convertAndSendToUser(
-                    String.valueOf(messageDTO.getSenderUserId()),
-                    "/queue/messages",
-                    messageDTO
-            );
+        // Private copy for the other participant, unless the topic already reached them
+        String senderType = messageDTO.getSenderType();
+        if (!"STAFF".equals(senderType) && !"USER".equals(senderType)) {
+            return;
+        }
+        String recipient = participantCache.get(conversationId).counterpartOf(senderType);
+        if (!isSubscribed(recipient, topic)) {
+            messagingTemplate.convertAndSendToUser(recipient, "/queue/messages", messageDTO);
         }
     }
 
-//    Send typing indicator
+//    True when any of the principal's sessions (on any node, in relay mode) subscribes to the destination
+
+    private boolean isSubscribed(String principalName, String destination) {
+        SimpUser user = userRegistry.getUser(principalName);
+        if (user == null) {
+            return false;
+        }
+        for (SimpSession session : user.getSessions()) {
+            for (SimpSubscription subscription : session.getSubscriptions()) {
+                if (destination.equals(subscription.getDestination())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-    public void sendTypingIndicator(int conversationId, int userId, String userType, String userName, boolean isTyping) {
-        Map<String, Object> typingMessage = new HashMap<>();
-        typingMessage.put("type", "TYPING");
-        typingMessage.put("conversationId", conversationId);
-        typingMessage.put("userId", userId);
-        typingMessage.put("userType", userType);
-        typingMessage.put("userName", userName);
-        typingMessage.put("isTyping", isTyping);
-        typingMessage.put("timestamp", System.currentTimeMillis());
+//    Send typing indicator (PresenceService decides when: state changes only, rate-limited)
 
+    public void sendTypingIndicator(TypingIndicatorDTO indicator) {
         messagingTemplate.convertAndSend(
-                "/topic/conversation/" + conversationId + "/typing",
-                typingMessage
+                "/topic/conversation/" + indicator.getConversationId() + "/typing",
+                indicator
         );
     }
 
@@ -0,0 +1,204 @@
+package com.example.appdev.returnhub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.OrderedMessageChannelDecorator;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live counters for the STOMP transport: channel queue depth, rejections and dropped
+// outbound messages, open and dropped sessions (closed for exceeding the send-time or
+// buffer limits), and outbound send latency. WebSocketConfig wires the executors, interceptor and decorator in.
+@Component
+public class WebSocketTransportMetrics {
+    private static final Logger log = LoggerFactory.getLogger(WebSocketTransportMetrics.class);
+
+    private final ObjectProvider<WebSocketMessageBrokerStats> brokerStats;
+
+    private final Map<String, ThreadPoolTaskExecutor> executors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> discards = new ConcurrentHashMap<>();
+
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final AtomicInteger peakSessions = new AtomicInteger();
+    private final LongAdder droppedSessions = new LongAdder();
+
+    private final LongAdder sends = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final AtomicLong maxSendNanos = new AtomicLong();
+    private final ThreadLocal<Long> sendStart = new ThreadLocal<>();
+    private final ThreadLocal<Deque<Runnable>> pendingReleases = new ThreadLocal<>();
+
+    public WebSocketTransportMetrics(ObjectProvider<WebSocketMessageBrokerStats> brokerStats) {
+        this.brokerStats = brokerStats;
+    }
+
+    // ==================== WIRING ====================
+
+    public void registerExecutor(String channel, ThreadPoolTaskExecutor executor) {
+        executors.put(channel, executor);
+    }
+
+    // Counts the rejection, then applies the given policy
+    public RejectedExecutionHandler countingRejections(String channel, RejectedExecutionHandler policy) {
+        LongAdder counter = rejections.computeIfAbsent(channel, c -> new LongAdder());
+        return (task, executor) -> {
+            counter.increment();
+            policy.rejectedExecution(task, executor);
+        };
+    }
+
+    // Overflow policy for the outbound channel: a full queue drops broadcast MESSAGE frames
+    // (counted, logged at debug only, since under load this fires per message), while
+    // protocol frames (CONNECTED, RECEIPT, ERROR, heartbeats) run on the calling thread so
+    // a session is never left waiting for its handshake or its error
+    public RejectedExecutionHandler discardingMessageFrames(String channel) {
+        LongAdder counter = discards.computeIfAbsent(channel, c -> new LongAdder());
+        return (task, executor) -> {
+            Message<?> message = task instanceof MessageHandlingRunnable runnable ? runnable.getMessage() : null;
+            if (message == null || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+                if (!executor.isShutdown()) {
+                    task.run();
+                }
+                return;
+            }
+            counter.increment();
+            if (log.isDebugEnabled()) {
+                log.debug("{} channel full, dropped message for session {} to {}", channel,
+                        SimpMessageHeaderAccessor.getSessionId(message.getHeaders()),
+                        SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            }
+            // With publish order preserved, the session's next message waits for this one
+            // to finish; release it, or that session would stall for good
+            Runnable next = OrderedMessageChannelDecorator.getNextMessageTask(message);
+            if (next != null) {
+                release(next);
+            }
+        };
+    }
+
+    // Releasing the next message may hit a full queue and be dropped in turn; run those
+    // releases in a loop on this thread instead of recursing through the whole backlog
+    private void release(Runnable next) {
+        Deque<Runnable> pending = pendingReleases.get();
+        if (pending != null) {
+            pending.add(next);
+            return;
+        }
+        pending = new ArrayDeque<>();
+        pendingReleases.set(pending);
+        try {
+            for (Runnable task = next; task != null; task = pending.poll()) {
+                task.run();
+            }
+        } finally {
+            pendingReleases.remove();
+        }
+    }
+
+    // Times each message from the moment an outbound worker picks it up until it has been
+    // written to the session (or buffered, when the session is already busy)
+    public ExecutorChannelInterceptor outboundLatencyInterceptor() {
+        return new ExecutorChannelInterceptor() {
+            @Override
+            public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+                sendStart.set(System.nanoTime());
+                return message;
+            }
+
+            @Override
+            public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                            Exception ex) {
+                Long start = sendStart.get();
+                sendStart.remove();
+                if (start == null) {
+                    return;
+                }
+                long elapsed = System.nanoTime() - start;
+                sends.increment();
+                sendNanos.add(elapsed);
+                maxSendNanos.accumulateAndGet(elapsed, Math::max);
+            }
+        };
+    }
+
+    public WebSocketHandlerDecoratorFactory sessionTracker() {
+        return handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                peakSessions.accumulateAndGet(openSessions.incrementAndGet(), Math::max);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                openSessions.decrementAndGet();
+                // Raised when a session exceeds the send-time or send-buffer limit
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    droppedSessions.increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    // ==================== READS ====================
+
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<String, ThreadPoolTaskExecutor> entry : executors.entrySet()) {
+            ThreadPoolExecutor pool = entry.getValue().getThreadPoolExecutor();
+            Map<String, Object> channel = new LinkedHashMap<>();
+            channel.put("queueDepth", pool.getQueue().size());
+            channel.put("queueRemainingCapacity", pool.getQueue().remainingCapacity());
+            channel.put("activeThreads", pool.getActiveCount());
+            channel.put("poolSize", pool.getPoolSize());
+            channel.put("completedTasks", pool.getCompletedTaskCount());
+            LongAdder rejected = rejections.get(entry.getKey());
+            channel.put("rejected", rejected == null ? 0L : rejected.sum());
+            LongAdder discarded = discards.get(entry.getKey());
+            channel.put("discardedMessages", discarded == null ? 0L : discarded.sum());
+            snapshot.put(entry.getKey(), channel);
+        }
+
+        snapshot.put("openSessions", openSessions.get());
+        snapshot.put("peakSessions", peakSessions.get());
+        snapshot.put("droppedSessions", droppedSessions.sum());
+
+        long sendCount = sends.sum();
+        snapshot.put("outboundSends", sendCount);
+        snapshot.put("avgSendMs", sendCount == 0 ? 0.0 : Math.round(sendNanos.sum() / 1000.0 / sendCount) / 1000.0);
+        snapshot.put("maxSendMs", Math.round(maxSendNanos.get() / 1000.0) / 1000.0);
+
+        WebSocketMessageBrokerStats stats = brokerStats.getIfAvailable();
+        if (stats != null) {
+            snapshot.put("sessionStats", stats.getWebSocketSessionStatsInfo());
+            snapshot.put("stompStats", stats.getStompSubProtocolStatsInfo());
+        }
+        return snapshot;
+    }
+}
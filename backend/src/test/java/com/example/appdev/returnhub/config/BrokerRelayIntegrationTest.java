@@ -0,0 +1,260 @@
+package com.example.appdev.returnhub.config;
+
+import com.example.appdev.returnhub.service.ClusterEventBus;
+import com.example.appdev.returnhub.service.PublicListingCache;
+import com.example.appdev.returnhub.service.WebSocketTransportMetrics;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketMessagingAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+// Two application nodes in relay mode against one embedded Artemis broker: whatever one
+// node sends reaches clients connected to the other (topics and user destinations), and
+// cluster events keep the nodes' in-memory state in step.
+class BrokerRelayIntegrationTest {
+    private static final long TIMEOUT_MS = 15_000;
+
+    private static EmbeddedActiveMQ broker;
+    private static int stompPort;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static WebSocketStompClient stompClient;
+
+    @BeforeAll
+    static void startBrokerAndNodes() throws Exception {
+        stompPort = freePort();
+        Configuration config = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .setJMXManagementEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://localhost:" + stompPort
+                        + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+        broker = new EmbeddedActiveMQ().setConfiguration(config);
+        broker.start();
+
+        nodeA = startNode();
+        nodeB = startNode();
+        for (ConfigurableApplicationContext node : new ConfigurableApplicationContext[]{nodeA, nodeB}) {
+            StompBrokerRelayMessageHandler relay = node.getBean(StompBrokerRelayMessageHandler.class);
+            await(relay::isBrokerAvailable, "relay connected to the broker");
+        }
+
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new StringMessageConverter());
+        stompClient.setDefaultHeartbeat(new long[]{0, 0});
+    }
+
+    @AfterAll
+    static void stopNodesAndBroker() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void topicMessageSentOnOneNodeReachesClientOnTheOther() throws Exception {
+        StompSession client = connect(nodeA, "USER", 1);
+        BlockingQueue<String> received = subscribe(client, "/topic/conversation/42");
+        SimpMessagingTemplate templateB = nodeB.getBean(SimpMessagingTemplate.class);
+
+        assertThat(sendUntilReceived(() -> templateB.convertAndSend("/topic/conversation/42", "hello"), received))
+                .isEqualTo("hello");
+        client.disconnect();
+    }
+
+    @Test
+    void userDestinationSentOnOneNodeReachesOnlyThatUserOnTheOther() throws Exception {
+        StompSession target = connect(nodeA, "USER", 7);
+        StompSession bystander = connect(nodeA, "USER", 8);
+        BlockingQueue<String> targetInbox = subscribe(target, "/user/queue/notifications");
+        BlockingQueue<String> bystanderInbox = subscribe(bystander, "/user/queue/notifications");
+        SimpMessagingTemplate templateB = nodeB.getBean(SimpMessagingTemplate.class);
+
+        String delivered = sendUntilReceived(() -> templateB.convertAndSendToUser(
+                StompPrincipal.userName(7), "/queue/notifications", "for seven"), targetInbox);
+
+        assertThat(delivered).isEqualTo("for seven");
+        assertThat(bystanderInbox.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        target.disconnect();
+        bystander.disconnect();
+    }
+
+    @Test
+    void listingInvalidationOnOneNodeReachesTheOther() {
+        connectFeeds();
+        awaitInvalidationCrossesNodes();
+    }
+
+    @Test
+    void changeMadeWhileAFeedIsDownReachesThePeerAfterReconnect() {
+        connectFeeds();
+        awaitInvalidationCrossesNodes();
+        ClusterEventBus busA = nodeA.getBean(ClusterEventBus.class);
+        PublicListingCache cacheA = nodeA.getBean(PublicListingCache.class);
+        PublicListingCache cacheB = nodeB.getBean(PublicListingCache.class);
+
+        busA.disconnect();
+        await(() -> !busA.isConnected(), "node A's feed to drop");
+        long before = (Long) cacheB.getStats().get("foundVersion");
+        cacheA.invalidate("found");
+        sleep(500);
+        assertThat((Long) cacheB.getStats().get("foundVersion")).isEqualTo(before);
+
+        busA.ensureConnected();
+        await(() -> (Long) cacheB.getStats().get("foundVersion") > before,
+                "node B to resync after node A's feed reconnects");
+    }
+
+    // ==================== HELPERS ====================
+
+    private static void connectFeeds() {
+        for (ConfigurableApplicationContext node : new ConfigurableApplicationContext[]{nodeA, nodeB}) {
+            ClusterEventBus bus = node.getBean(ClusterEventBus.class);
+            bus.ensureConnected();
+            await(bus::isConnected, "cluster event feed connected");
+        }
+    }
+
+    // Repeats until node B's subscription is in place at the broker
+    private static void awaitInvalidationCrossesNodes() {
+        PublicListingCache cacheA = nodeA.getBean(PublicListingCache.class);
+        PublicListingCache cacheB = nodeB.getBean(PublicListingCache.class);
+        long before = (Long) cacheB.getStats().get("lostVersion");
+        await(() -> {
+            cacheA.invalidate("lost");
+            sleep(200);
+            return (Long) cacheB.getStats().get("lostVersion") > before;
+        }, "node B to see node A's invalidation");
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(RelayNode.class)
+                .properties("server.port=0",
+                        "websocket.broker.mode=relay",
+                        "websocket.broker.relay.host=localhost",
+                        "websocket.broker.relay.port=" + stompPort)
+                .run();
+    }
+
+    private static StompSession connect(ConfigurableApplicationContext node, String userType, int userId)
+            throws Exception {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add(StompPrincipalResolver.TYPE_PARAM, userType);
+        connectHeaders.add(StompPrincipalResolver.ID_PARAM, String.valueOf(userId));
+        return stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+                connectHeaders, new StompSessionHandlerAdapter() {}).get(10, TimeUnit.SECONDS);
+    }
+
+    private static BlockingQueue<String> subscribe(StompSession session, String destination) {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((String) payload);
+            }
+        });
+        return received;
+    }
+
+    // Subscriptions reach the broker asynchronously, so keep sending until one arrives
+    private static String sendUntilReceived(Runnable send, BlockingQueue<String> received) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            send.run();
+            String message = received.poll(300, TimeUnit.MILLISECONDS);
+            if (message != null) {
+                return message;
+            }
+        }
+        return fail("Nothing delivered within " + TIMEOUT_MS + " ms");
+    }
+
+    private static void await(BooleanSupplier condition, String what) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for " + what);
+            }
+            sleep(100);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Just the web server and the STOMP stack of the application; no database
+    @org.springframework.context.annotation.Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class, JacksonAutoConfiguration.class,
+            WebSocketMessagingAutoConfiguration.class})
+    @Import({WebSocketConfig.class, WebSocketTransportMetrics.class, StompPrincipalHandshakeHandler.class,
+            StompPrincipalInterceptor.class, ClusterEventBus.class, PublicListingCache.class})
+    static class RelayNode {
+        @Bean
+        StompPrincipalResolver stompPrincipalResolver() {
+            // Accept any well-formed identity instead of checking the account tables
+            return new StompPrincipalResolver(null, null) {
+                @Override
+                public StompPrincipal resolve(String type, String id) {
+                    return StompPrincipal.parse(type, id);
+                }
+            };
+        }
+    }
+}
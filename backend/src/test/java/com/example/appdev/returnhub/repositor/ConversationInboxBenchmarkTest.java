@@ -0,0 +1,100 @@
+package com.example.appdev.returnhub.repositor;
+
+import com.example.appdev.returnhub.dto.ConversationDTO;
+import com.example.appdev.returnhub.entity.Conversation;
+import com.example.appdev.returnhub.entity.Message;
+import com.example.appdev.returnhub.entity.Staff;
+import com.example.appdev.returnhub.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Inbox for a staff member with 1,000 conversations: must be one statement,
+// and prints the latency so changes to the query can be compared.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ConversationInboxBenchmarkTest {
+
+    private static final int CONVERSATIONS = 1000;
+    private static final int MESSAGES_PER_CONVERSATION = 3;
+    private static final int RUNS = 15;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    private int staffId;
+
+    @BeforeEach
+    void seedInbox() {
+        Staff staff = entityManager.persist(new Staff("Inbox Staff", "inbox@test.com", "secret", "STAFF"));
+        staffId = staff.getStaffId();
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+
+        for (int i = 0; i < CONVERSATIONS; i++) {
+            User user = entityManager.persist(
+                    new User("User " + i, "user" + i + "@test.com", "0917", "secret", true, base));
+            Conversation conversation = entityManager.persist(new Conversation(user, staff));
+
+            Message last = null;
+            int fromUserCount = 0;
+            for (int j = 0; j < MESSAGES_PER_CONVERSATION; j++) {
+                boolean fromUser = j % 2 == 0;
+                last = entityManager.persist(new Message(conversation, fromUser ? user : null, fromUser ? null : staff,
+                        "Message " + j + " in conversation " + i, base.plusMinutes(i * 10L + j), false));
+                if (fromUser) {
+                    fromUserCount++;
+                }
+            }
+            conversation.setLastMessageId(last.getMessageId());
+            conversation.setLastMessageAt(last.getCreatedAt());
+            conversation.setStaffUnreadCount(fromUserCount);
+            conversation.setUserUnreadCount(MESSAGES_PER_CONVERSATION - fromUserCount);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void staffInboxLoadsInOneStatement() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        // Warm up the query plan cache before measuring
+        conversationRepository.findStaffInbox(staffId);
+
+        long[] timings = new long[RUNS];
+        List<ConversationDTO> inbox = null;
+        for (int run = 0; run < RUNS; run++) {
+            entityManager.clear();
+            statistics.clear();
+            long start = System.nanoTime();
+            inbox = conversationRepository.findStaffInbox(staffId);
+            timings[run] = System.nanoTime() - start;
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        }
+
+        assertThat(inbox).hasSize(CONVERSATIONS);
+        ConversationDTO newest = inbox.get(0);
+        assertThat(newest.getLastMessage())
+                .isEqualTo("Message " + (MESSAGES_PER_CONVERSATION - 1) + " in conversation " + (CONVERSATIONS - 1));
+        // Messages 0 and 2 come from the user and are unread on the staff side
+        assertThat(newest.getUnreadCount()).isEqualTo(2);
+
+        Arrays.sort(timings);
+        System.out.printf("Staff inbox, %d conversations: median %.2f ms, p90 %.2f ms%n",
+                CONVERSATIONS, timings[RUNS / 2] / 1_000_000.0, timings[(RUNS * 9) / 10] / 1_000_000.0);
+    }
+}
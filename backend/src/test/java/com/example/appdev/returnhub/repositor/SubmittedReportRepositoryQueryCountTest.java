@@ -0,0 +1,99 @@
+package com.example.appdev.returnhub.repositor;
+
+import com.example.appdev.returnhub.entity.Staff;
+import com.example.appdev.returnhub.entity.SubmittedReport;
+import com.example.appdev.returnhub.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards the report listings against N+1 regressions: each listing must load
+// reports together with submitter and reviewer in a single statement.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SubmittedReportRepositoryQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SubmittedReportRepository submittedReportRepository;
+
+    private Statistics statistics;
+    private int submitterId;
+
+    @BeforeEach
+    void seedReports() {
+        User alice = entityManager.persist(new User("Alice", "alice@test.com", "0917", "secret", true, LocalDateTime.now()));
+        User bob = entityManager.persist(new User("Bob", "bob@test.com", "0918", "secret", true, LocalDateTime.now()));
+        Staff reviewer = entityManager.persist(new Staff("Reviewer", "reviewer@test.com", "secret", "STAFF"));
+        submitterId = alice.getUserId();
+
+        for (int i = 0; i < 6; i++) {
+            SubmittedReport report = new SubmittedReport();
+            report.setType(i % 2 == 0 ? "lost" : "found");
+            report.setCategory("Electronics");
+            report.setItemName("Item " + i);
+            report.setDescription("Description " + i);
+            report.setDateOfEvent(LocalDate.now().minusDays(i));
+            report.setLocation("Library");
+            report.setStatus(i < 3 ? "pending" : "published");
+            report.setDateSubmitted(LocalDateTime.now().minusHours(i));
+            report.setSubmitterUser(i % 2 == 0 ? alice : bob);
+            report.setReviewerStaff(reviewer);
+            entityManager.persist(report);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void allReportsListingRunsOneStatement() {
+        assertSingleStatement(submittedReportRepository.findAllWithParticipants());
+    }
+
+    @Test
+    void reportsByStatusListingRunsOneStatement() {
+        assertSingleStatement(submittedReportRepository.findByStatus("published"));
+    }
+
+    @Test
+    void pendingReportsListingRunsOneStatement() {
+        assertSingleStatement(submittedReportRepository.findPendingReports());
+    }
+
+    @Test
+    void reportsByUserListingRunsOneStatement() {
+        assertSingleStatement(submittedReportRepository.findByUserId(submitterId));
+    }
+
+    @Test
+    void keysetPageRunsOneStatement() {
+        assertSingleStatement(submittedReportRepository.findFirstPage(null, null, null, PageRequest.of(0, 4)));
+    }
+
+    // Touches the same associations convertToResponseDTO reads
+    private void assertSingleStatement(List<SubmittedReport> reports) {
+        assertThat(reports).isNotEmpty();
+        for (SubmittedReport report : reports) {
+            assertThat(report.getSubmitterUser().getName()).isNotNull();
+            assertThat(report.getReviewerStaff().getName()).isNotNull();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.ClaimStatusUpdateDTO;
+import com.example.appdev.returnhub.entity.Claim;
+import com.example.appdev.returnhub.entity.LostItem;
+import com.example.appdev.returnhub.entity.Staff;
+import com.example.appdev.returnhub.entity.SubmittedReport;
+import com.example.appdev.returnhub.entity.User;
+import com.example.appdev.returnhub.repositor.ClaimRepository;
+import com.example.appdev.returnhub.repositor.LostItemRepository;
+import com.example.appdev.returnhub.repositor.StaffRepository;
+import com.example.appdev.returnhub.repositor.SubmittedReportRepository;
+import com.example.appdev.returnhub.repositor.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two staff members approve competing claims on the same item at the same time: one
+// approval wins, the other claim ends up rejected, and each claimant hears exactly once.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ClaimService.class, NotificationService.class, NotificationOutbox.class})
+class ClaimApprovalConcurrencyTest {
+    private static final int ROUNDS = 5;
+
+    @MockitoBean
+    private DashboardCounterStore dashboardCounterStore;
+
+    @MockitoBean
+    private ReportMatchingService reportMatchingService;
+
+    @MockitoBean
+    private PublicListingCache publicListingCache;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private SubmittedReportRepository submittedReportRepository;
+
+    @Autowired
+    private LostItemRepository lostItemRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void competingApprovalsLeaveOneApprovedClaimAndNotifyEachClaimantOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                runRound(pool, round);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void runRound(ExecutorService pool, int round) throws Exception {
+        User owner = userRepository.save(user("owner" + round));
+        User first = userRepository.save(user("first" + round));
+        User second = userRepository.save(user("second" + round));
+        Staff staffA = staffRepository.save(new Staff("Reviewer A", "a" + round + "@staff.test", "secret", "STAFF"));
+        Staff staffB = staffRepository.save(new Staff("Reviewer B", "b" + round + "@staff.test", "secret", "STAFF"));
+
+        SubmittedReport report = submittedReportRepository.save(report(owner));
+        LostItem item = lostItemRepository.save(new LostItem(staffA, report, "active", LocalDateTime.now()));
+        Claim firstClaim = claimRepository.save(claim(item, first));
+        Claim secondClaim = claimRepository.save(claim(item, second));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> approvals = new ArrayList<>();
+        approvals.add(pool.submit(() -> approve(start, firstClaim.getClaimId(), staffA)));
+        approvals.add(pool.submit(() -> approve(start, secondClaim.getClaimId(), staffB)));
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<?> approval : approvals) {
+            try {
+                approval.get(30, TimeUnit.SECONDS);
+                succeeded++;
+            } catch (ExecutionException expected) {
+                // The losing approval fails instead of overwriting the decision
+            }
+        }
+        notificationOutbox.flush();
+
+        assertThat(succeeded).isEqualTo(1);
+        List<String> statuses = List.of(
+                claimRepository.findById(firstClaim.getClaimId()).orElseThrow().getStatus(),
+                claimRepository.findById(secondClaim.getClaimId()).orElseThrow().getStatus());
+        assertThat(statuses).containsExactlyInAnyOrder("approved", "rejected");
+        assertThat(lostItemRepository.findById(item.getItemId()).orElseThrow().getStatus()).isEqualTo("claimed");
+        assertThat(claimNotifications(first)).isEqualTo(1);
+        assertThat(claimNotifications(second)).isEqualTo(1);
+    }
+
+    private Void approve(CountDownLatch start, int claimId, Staff reviewer) throws InterruptedException {
+        start.await();
+        ClaimStatusUpdateDTO update = new ClaimStatusUpdateDTO();
+        update.setStatus("approved");
+        update.setReviewerStaffId(reviewer.getStaffId());
+        claimService.updateStatusClaim(claimId, update);
+        return null;
+    }
+
+    private int claimNotifications(User claimant) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE type = 'CLAIM' AND user_id = ?",
+                Integer.class, claimant.getUserId());
+    }
+
+    private static User user(String name) {
+        return new User(name, name + "@test.com", "0917", "secret", true, LocalDateTime.now());
+    }
+
+    private static Claim claim(LostItem item, User claimant) {
+        return new Claim(item, null, claimant, null, "", "pending", LocalDateTime.now());
+    }
+
+    private static SubmittedReport report(User submitter) {
+        SubmittedReport report = new SubmittedReport();
+        report.setType("lost");
+        report.setCategory("Accessories");
+        report.setItemName("Blue umbrella");
+        report.setDescription("Blue folding umbrella");
+        report.setDateOfEvent(LocalDate.now().minusDays(1));
+        report.setLocation("Cafeteria");
+        report.setStatus("published");
+        report.setDateSubmitted(LocalDateTime.now());
+        report.setSubmitterUser(submitter);
+        return report;
+    }
+}
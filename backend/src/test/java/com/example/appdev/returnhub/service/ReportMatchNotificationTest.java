@@ -0,0 +1,90 @@
+package com.example.appdev.returnhub.service;
+
+import com.example.appdev.returnhub.dto.ReportStatusUpdateDTO;
+import com.example.appdev.returnhub.entity.Staff;
+import com.example.appdev.returnhub.entity.SubmittedReport;
+import com.example.appdev.returnhub.entity.User;
+import com.example.appdev.returnhub.repositor.StaffRepository;
+import com.example.appdev.returnhub.repositor.SubmittedReportRepository;
+import com.example.appdev.returnhub.repositor.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Publishing a report announces its matches from an afterCommit callback; the owner's
+// MATCH notification must still reach the outbox and be written.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SubmittedReportService.class, LostItemService.class, FoundItemService.class, NotificationService.class,
+        NotificationOutbox.class, ReportMatchingService.class, ItemIndex.class, PublicListingCache.class,
+        ClusterEventBus.class})
+class ReportMatchNotificationTest {
+
+    @MockitoBean
+    private DashboardCounterStore dashboardCounterStore;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private SubmittedReportService submittedReportService;
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private SubmittedReportRepository submittedReportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void publishingAMatchingFoundReportNotifiesTheLostReportOwner() {
+        User owner = userRepository.save(new User("Alice", "alice@test.com", "0917", "secret", true, LocalDateTime.now()));
+        User finder = userRepository.save(new User("Bob", "bob@test.com", "0918", "secret", true, LocalDateTime.now()));
+        Staff staff = staffRepository.save(new Staff("Reviewer", "reviewer@test.com", "secret", "STAFF"));
+
+        SubmittedReport lost = submittedReportRepository.save(report("lost", owner));
+        SubmittedReport found = submittedReportRepository.save(report("found", finder));
+
+        submittedReportService.updateReportStatus(lost.getReportId(), new ReportStatusUpdateDTO("published", staff.getStaffId()));
+        submittedReportService.updateReportStatus(found.getReportId(), new ReportStatusUpdateDTO("published", staff.getStaffId()));
+        notificationOutbox.flush();
+
+        Integer matches = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE type = 'MATCH' AND user_id = ? AND related_id = ?",
+                Integer.class, owner.getUserId(), lost.getReportId());
+        assertThat(matches).isEqualTo(1);
+    }
+
+    private static SubmittedReport report(String type, User submitter) {
+        SubmittedReport report = new SubmittedReport();
+        report.setType(type);
+        report.setCategory("Accessories");
+        report.setItemName("Black leather wallet");
+        report.setDescription("Black leather wallet with a student ID inside");
+        report.setDateOfEvent(LocalDate.now().minusDays(1));
+        report.setLocation("Main Library");
+        report.setStatus("pending");
+        report.setDateSubmitted(LocalDateTime.now());
+        report.setSubmitterUser(submitter);
+        return report;
+    }
+}
@@ -6,10 +6,14 @@ class WebSocketService {
     this.reconnectDelay = 3000;
     this.subscribers = new Map();
     this.userId = null;
+    this.userType = 'USER';
   }
 
-  connect(userId) {
+  // userType is 'USER' or 'STAFF'; the server binds the session to that account
+  // so /user/queue/* destinations only carry this account's messages
+  connect(userId, userType = 'USER') {
     this.userId = userId;
+    this.userType = userType;
     
     if (this.stompClient && this.stompClient.connected) {
       return;
@@ -20,12 +24,13 @@ class WebSocketService {
       const socket = new SockJS('http://localhost:8080/ws');
       this.stompClient = Stomp.over(socket);
       
-      this.stompClient.connect({}, () => {
+      const connectHeaders = { userType, userId: String(userId) };
+      this.stompClient.connect(connectHeaders, () => {
         console.log('WebSocket connected for real-time notifications');
         this.reconnectAttempts = 0;
         
         // Subscribe to user's personal notification queue
-        this.stompClient.subscribe(`/user/${userId}/queue/notifications`, (message) => {
+        this.stompClient.subscribe('/user/queue/notifications', (message) => {
           try {
             const data = JSON.parse(message.body);
             this.notifySubscribers(data);
@@ -46,16 +51,16 @@ class WebSocketService {
         
       }, (error) => {
         console.error('WebSocket connection error:', error);
-        this.attemptReconnect(userId);
+        this.attemptReconnect(userId, userType);
       });
 
     } catch (error) {
       console.error('Error connecting WebSocket:', error);
-      this.attemptReconnect(userId);
+      this.attemptReconnect(userId, userType);
     }
   }
 
-  attemptReconnect(userId) {
+  attemptReconnect(userId, userType) {
     if (this.reconnectAttempts >= this.maxReconnectAttempts) {
       console.log('Max reconnection attempts reached');
       return;
@@ -67,7 +72,7 @@ class WebSocketService {
     console.log(`Attempting to reconnect in ${delay}ms (attempt ${this.reconnectAttempts})`);
     
     setTimeout(() => {
-      this.connect(userId);
+      this.connect(userId, userType);
     }, delay);
   }
 